@@ -6,10 +6,12 @@ import java.nio.charset.StandardCharsets;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.vptr.lpm.service.ActivityLogWriter;
 import io.quarkus.runtime.ShutdownEvent;
 import io.quarkus.runtime.StartupEvent;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
 
 /**
  * Application lifecycle bean used for startup/shutdown hooks and initialization
@@ -29,12 +31,16 @@ public class AppLifecycleBean {
      */
     private static final String BANNER_PATH = "banner.txt";
 
+    @Inject
+    ActivityLogWriter activityLogWriter;
+
     void onStart(@Observes final StartupEvent ev) {
         final var banner = this.loadBanner();
         LOG.info("\n\n{}\n", banner);
     }
 
     void onStop(@Observes final ShutdownEvent ev) {
+        this.activityLogWriter.shutdown();
         LOG.info("Libre Project Manager is shutting down. Goodbye! o/");
     }
 
@@ -0,0 +1,217 @@
+package de.vptr.lpm.audit;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Builder for the JSON stored in {@code activity_log.details}. All writers and
+ * the containment queries use it, so the documents always have the same
+ * shape:
+ *
+ * <pre>
+ * {"changes":{"title":{"old":"A","new":"B"},"assignee":{"old":null,"new":5}},
+ *  "projectId":12,"actor":"alice"}
+ * </pre>
+ */
+public final class ActivityDetails {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Longest value shown in a summary; longer values such as descriptions are
+     * cut off.
+     */
+    private static final int MAX_SUMMARY_VALUE_LENGTH = 60;
+
+    private final Map<String, Object> changes = new LinkedHashMap<>();
+    private final Map<String, Object> context = new LinkedHashMap<>();
+
+    private ActivityDetails() {
+    }
+
+    /**
+     * Creates an empty details document.
+     *
+     * @return a new ActivityDetails
+     */
+    public static ActivityDetails create() {
+        return new ActivityDetails();
+    }
+
+    /**
+     * Records a changed property with its old and new value.
+     *
+     * @param property the property name
+     * @param oldValue the value before the change
+     * @param newValue the value after the change
+     * @return this builder
+     */
+    public ActivityDetails change(final String property, final Object oldValue, final Object newValue) {
+        final var values = new LinkedHashMap<String, Object>();
+        values.put("old", oldValue);
+        values.put("new", newValue);
+        this.changes.put(property, values);
+        return this;
+    }
+
+    /**
+     * Records a changed property whose previous value is unknown.
+     *
+     * @param property the property name
+     * @param newValue the value after the change
+     * @return this builder
+     */
+    public ActivityDetails changedTo(final String property, final Object newValue) {
+        final var values = new LinkedHashMap<String, Object>();
+        values.put("new", newValue);
+        this.changes.put(property, values);
+        return this;
+    }
+
+    /**
+     * Records the project the entity belongs to.
+     *
+     * @param projectId the project ID, ignored if null
+     * @return this builder
+     */
+    public ActivityDetails project(final Long projectId) {
+        return this.with("projectId", projectId);
+    }
+
+    /**
+     * Records the username of the acting user.
+     *
+     * @param username the username, ignored if null
+     * @return this builder
+     */
+    public ActivityDetails actor(final String username) {
+        return this.with("actor", username);
+    }
+
+    /**
+     * Records a free text note.
+     *
+     * @param text the note, ignored if null
+     * @return this builder
+     */
+    public ActivityDetails note(final String text) {
+        return this.with("note", text);
+    }
+
+    /**
+     * Marks the change as part of a bulk operation.
+     *
+     * @return this builder
+     */
+    public ActivityDetails bulk() {
+        return this.with("bulk", true);
+    }
+
+    /**
+     * Checks whether any property changes were recorded.
+     *
+     * @return true if at least one change was recorded
+     */
+    public boolean hasChanges() {
+        return !this.changes.isEmpty();
+    }
+
+    /**
+     * Serializes the document.
+     *
+     * @return the JSON document, or null if nothing was recorded
+     */
+    public String toJson() {
+        if (this.changes.isEmpty() && this.context.isEmpty()) {
+            return null;
+        }
+        final var document = new LinkedHashMap<String, Object>();
+        if (!this.changes.isEmpty()) {
+            document.put("changes", this.changes);
+        }
+        document.putAll(this.context);
+        try {
+            return MAPPER.writeValueAsString(document);
+        } catch (final JsonProcessingException e) {
+            throw new IllegalStateException("Activity details are not serializable", e);
+        }
+    }
+
+    /**
+     * Wraps free text details from before details were structured. JSON
+     * objects are passed through unchanged.
+     *
+     * @param details the details, may be null
+     * @return a JSON object, or null
+     */
+    public static String fromText(final String details) {
+        if (details == null || details.isBlank()) {
+            return null;
+        }
+        if (details.stripLeading().startsWith("{")) {
+            return details;
+        }
+        return create().note(details).toJson();
+    }
+
+    /**
+     * Renders a details document as one readable line, e.g.
+     * {@code title: A → B, assignee: none → 5}. The note of free text details
+     * is shown as is; context such as the project or the actor is left out.
+     *
+     * @param details the JSON document, may be null
+     * @return the summary, or null if there is nothing to show
+     */
+    public static String summarize(final String details) {
+        if (details == null || details.isBlank()) {
+            return null;
+        }
+        final JsonNode document;
+        try {
+            document = MAPPER.readTree(details);
+        } catch (final JsonProcessingException e) {
+            return details;
+        }
+        if (!document.isObject()) {
+            return details;
+        }
+
+        final var parts = new ArrayList<String>();
+        for (final var change : document.path("changes").properties()) {
+            final var values = change.getValue();
+            parts.add(values.has("old")
+                    ? "%s: %s → %s".formatted(change.getKey(), summaryValue(values.get("old")),
+                            summaryValue(values.path("new")))
+                    : "%s: %s".formatted(change.getKey(), summaryValue(values.path("new"))));
+        }
+        if (document.hasNonNull("note")) {
+            parts.add(document.get("note").asText());
+        }
+        if (document.path("bulk").asBoolean()) {
+            parts.add("bulk change");
+        }
+        return parts.isEmpty() ? null : String.join(", ", parts);
+    }
+
+    private static String summaryValue(final JsonNode value) {
+        if (value.isNull() || value.isMissingNode()) {
+            return "none";
+        }
+        final var text = value.isValueNode() ? value.asText() : value.toString();
+        return text.length() > MAX_SUMMARY_VALUE_LENGTH
+                ? text.substring(0, MAX_SUMMARY_VALUE_LENGTH) + "…"
+                : text;
+    }
+
+    private ActivityDetails with(final String key, final Object value) {
+        if (value != null) {
+            this.context.put(key, value);
+        }
+        return this;
+    }
+}
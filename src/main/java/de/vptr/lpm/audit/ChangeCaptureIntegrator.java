@@ -0,0 +1,25 @@
+package de.vptr.lpm.audit;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+
+/**
+ * Registers the {@link ChangeCaptureListener} with Hibernate. Discovered via
+ * {@code META-INF/services/org.hibernate.integrator.spi.Integrator}.
+ */
+public class ChangeCaptureIntegrator implements Integrator {
+
+    @Override
+    public void integrate(final Metadata metadata, final BootstrapContext bootstrapContext,
+            final SessionFactoryImplementor sessionFactory) {
+        final var listener = new ChangeCaptureListener();
+        final var registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+}
@@ -0,0 +1,200 @@
+package de.vptr.lpm.audit;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+
+import de.vptr.lpm.dto.ActivityLogEntryDto;
+import de.vptr.lpm.entity.AbstractEntity;
+import de.vptr.lpm.entity.ActivityLog;
+import de.vptr.lpm.security.SessionUser;
+import de.vptr.lpm.service.ActivityLogService;
+import io.quarkus.arc.Arc;
+
+/**
+ * Records inserts, updates and deletes of all entities in the activity log.
+ * Updates are stored with a compact change set computed from the state
+ * Hibernate already holds for dirty checking (see {@link ActivityDetails}),
+ * with associations reduced to their IDs. Entries are collected per
+ * transaction and handed to {@link ActivityLogService} as a single batch when
+ * it commits.
+ */
+public class ChangeCaptureListener
+        implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    /**
+     * Properties that change on every write and carry no information.
+     */
+    private static final Set<String> IGNORED_PROPERTIES = Set.of("createdAt", "updatedAt");
+
+    /**
+     * Properties whose values must never be written to the log.
+     */
+    private static final Set<String> MASKED_PROPERTIES = Set.of("passwordHash");
+
+    private static final String MASK = "***";
+
+    private static final String PROJECT_PROPERTY = "project";
+
+    private final Map<SharedSessionContractImplementor, ChangeBatch> batches = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPostInsert(final PostInsertEvent event) {
+        if (isCaptured(event.getEntity())) {
+            final var details = withProject(ActivityDetails.create(), event.getPersister(), event.getState());
+            this.batchFor(event.getSession()).add(event.getEntity(), event.getId(), "CREATE", details);
+        }
+    }
+
+    @Override
+    public void onPostUpdate(final PostUpdateEvent event) {
+        if (!isCaptured(event.getEntity()) || event.getDirtyProperties() == null) {
+            return;
+        }
+        final var details = changeSet(event);
+        if (details.hasChanges()) {
+            withProject(details, event.getPersister(), event.getState());
+            this.batchFor(event.getSession()).add(event.getEntity(), event.getId(), "UPDATE", details);
+        }
+    }
+
+    @Override
+    public void onPostDelete(final PostDeleteEvent event) {
+        if (isCaptured(event.getEntity())) {
+            final var details = withProject(ActivityDetails.create(), event.getPersister(), event.getDeletedState());
+            this.batchFor(event.getSession()).add(event.getEntity(), event.getId(), "DELETE", details);
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(final EntityPersister persister) {
+        return false;
+    }
+
+    private ChangeBatch batchFor(final SharedSessionContractImplementor session) {
+        return this.batches.computeIfAbsent(session, key -> {
+            final var batch = new ChangeBatch(key, SessionUser.current());
+            key.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) batch);
+            key.getActionQueue().registerProcess((AfterTransactionCompletionProcess) batch);
+            return batch;
+        });
+    }
+
+    private static boolean isCaptured(final Object entity) {
+        // The log must not record its own writes
+        return entity instanceof AbstractEntity && !(entity instanceof ActivityLog);
+    }
+
+    private static ActivityDetails changeSet(final PostUpdateEvent event) {
+        final var persister = event.getPersister();
+        final var names = persister.getPropertyNames();
+        final var types = persister.getPropertyTypes();
+        final var oldState = event.getOldState();
+        final var state = event.getState();
+
+        final var details = ActivityDetails.create();
+        for (final var index : event.getDirtyProperties()) {
+            final var name = names[index];
+            // Collections are not diffed; their state is a wrapper, not the elements
+            if (IGNORED_PROPERTIES.contains(name) || types[index].isCollectionType()) {
+                continue;
+            }
+            if (MASKED_PROPERTIES.contains(name)) {
+                details.change(name, MASK, MASK);
+            } else if (oldState != null) {
+                details.change(name, toValue(oldState[index]), toValue(state[index]));
+            } else {
+                details.changedTo(name, toValue(state[index]));
+            }
+        }
+        return details;
+    }
+
+    private static ActivityDetails withProject(final ActivityDetails details, final EntityPersister persister,
+            final Object[] state) {
+        // Project context lets containment queries filter by project from the index
+        final var names = persister.getPropertyNames();
+        for (var index = 0; index < names.length; index++) {
+            if (PROJECT_PROPERTY.equals(names[index]) && state != null
+                    && toValue(state[index]) instanceof final Long projectId) {
+                details.project(projectId);
+            }
+        }
+        return details;
+    }
+
+    private static Object toValue(final Object value) {
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        final var lazyInitializer = HibernateProxy.extractLazyInitializer(value);
+        if (lazyInitializer != null) {
+            return lazyInitializer.getIdentifier();
+        }
+        if (value instanceof final AbstractEntity entity) {
+            return entity.id;
+        }
+        if (value instanceof final Enum<?> constant) {
+            return constant.name();
+        }
+        return value.toString();
+    }
+
+    private static ActivityLogService activityLogService() {
+        // Hibernate creates this listener, so the service is looked up instead of injected
+        return Arc.container().instance(ActivityLogService.class).get();
+    }
+
+    /**
+     * Changes captured in one session's transaction.
+     */
+    private final class ChangeBatch implements BeforeTransactionCompletionProcess, AfterTransactionCompletionProcess {
+
+        private final SharedSessionContractImplementor session;
+        private final SessionUser user;
+        private final List<ActivityLogEntryDto> entries = new ArrayList<>();
+
+        ChangeBatch(final SharedSessionContractImplementor session, final SessionUser user) {
+            this.session = session;
+            this.user = user;
+        }
+
+        void add(final Object entity, final Object id, final String action, final ActivityDetails details) {
+            if (this.user != null) {
+                details.actor(this.user.username());
+            }
+            this.entries.add(new ActivityLogEntryDto(entity.getClass().getSimpleName(), (Long) id, action,
+                    this.user != null ? this.user.id() : null, details.toJson(), LocalDateTime.now()));
+        }
+
+        @Override
+        public void doBeforeTransactionCompletion(final SessionImplementor session) {
+            activityLogService().logCapturedChanges(this.entries, false);
+        }
+
+        @Override
+        public void doAfterTransactionCompletion(final boolean success,
+                final SharedSessionContractImplementor session) {
+            ChangeCaptureListener.this.batches.remove(this.session);
+            if (success) {
+                activityLogService().logCapturedChanges(this.entries, true);
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package de.vptr.lpm.component.comment;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.component.Html;
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.H3;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.virtuallist.VirtualList;
+import com.vaadin.flow.data.renderer.ComponentRenderer;
+
+import de.vptr.lpm.dto.CommentDto;
+import de.vptr.lpm.dto.CommentPageDto;
+
+/**
+ * Comment thread of a ticket, newest first. Comments are shown in a virtual
+ * list: older pages are loaded when the list is scrolled towards its end, and
+ * only the entries currently in view are rendered as components. The thread
+ * needs a fixed height, like any virtual list.
+ */
+public class CommentThread extends VerticalLayout {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final transient BiFunction<CommentDto, Integer, CommentPageDto> pageLoader;
+    private final transient Function<CommentDto, String> contentRenderer;
+    private final int pageSize;
+    private final H3 header = new H3("Comments");
+    private final VirtualList<CommentDto> comments = new VirtualList<>();
+    private final List<CommentDto> loaded = new ArrayList<>();
+    private boolean exhausted;
+
+    /**
+     * Constructs a CommentThread.
+     *
+     * @param pageLoader      loads the comments older than a comment (null for
+     *                        the newest), limited to the given page size
+     * @param pageSize        number of comments loaded per page
+     * @param contentRenderer renders the content of a comment to sanitized HTML
+     *                        with a single root element
+     */
+    public CommentThread(final BiFunction<CommentDto, Integer, CommentPageDto> pageLoader, final int pageSize,
+            final Function<CommentDto, String> contentRenderer) {
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+        this.contentRenderer = contentRenderer;
+
+        this.setPadding(false);
+        this.comments.setRenderer(new ComponentRenderer<>(this::createEntry));
+        // No count query: the list grows as long as older comments exist
+        this.comments.setItems(query -> this.fetch(query.getOffset(), query.getLimit()));
+
+        this.add(this.header);
+        this.addAndExpand(this.comments);
+    }
+
+    /**
+     * Discard all loaded comments and start again from the newest.
+     */
+    public void reload() {
+        this.loaded.clear();
+        this.exhausted = false;
+        this.comments.getDataProvider().refreshAll();
+    }
+
+    private Stream<CommentDto> fetch(final int offset, final int limit) {
+        while (!this.exhausted && this.loaded.size() < offset + limit) {
+            final var page = this.pageLoader.apply(this.loaded.isEmpty() ? null : this.loaded.getLast(),
+                    this.pageSize);
+            this.loaded.addAll(page.comments());
+            this.exhausted = !page.hasOlder() || page.comments().isEmpty();
+            this.header.setText("Comments (" + page.totalCount() + ")");
+        }
+        final var from = Math.min(offset, this.loaded.size());
+        final var to = Math.min(offset + limit, this.loaded.size());
+        return List.copyOf(this.loaded.subList(from, to)).stream();
+    }
+
+    private Div createEntry(final CommentDto comment) {
+        final var author = new Span(comment.authorName() != null ? comment.authorName() : "Unknown");
+        author.getStyle().set("font-weight", "bold");
+
+        final var time = new Span(" " + comment.createdAt().format(TIMESTAMP_FORMAT));
+        time.getStyle().set("color", "var(--lumo-secondary-text-color)");
+
+        final var content = new Html(this.contentRenderer.apply(comment));
+
+        final var entry = new Div(new Div(author, time), content);
+        entry.getStyle().set("padding", "var(--lumo-space-s) 0");
+        return entry;
+    }
+}
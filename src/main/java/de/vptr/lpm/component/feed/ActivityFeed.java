@@ -0,0 +1,89 @@
+package de.vptr.lpm.component.feed;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+import com.vaadin.flow.component.html.Div;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.virtuallist.VirtualList;
+import com.vaadin.flow.data.renderer.ComponentRenderer;
+
+import de.vptr.lpm.audit.ActivityDetails;
+import de.vptr.lpm.dto.ActivityCursor;
+import de.vptr.lpm.dto.ActivityLogDto;
+
+/**
+ * Infinitely scrolling list of activity log entries, newest first. Pages are
+ * loaded with a keyset cursor when the list is scrolled towards its end, so
+ * only what the user actually scrolls to is ever fetched.
+ */
+public class ActivityFeed extends VirtualList<ActivityLogDto> {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    private final transient BiFunction<ActivityCursor, Integer, List<ActivityLogDto>> pageLoader;
+    private final int pageSize;
+    private final List<ActivityLogDto> loaded = new ArrayList<>();
+    private boolean exhausted;
+
+    /**
+     * Constructs an ActivityFeed.
+     *
+     * @param pageLoader loads the entries older than a cursor (null for the
+     *                   newest), limited to the given page size
+     * @param pageSize   number of entries loaded per page
+     */
+    public ActivityFeed(final BiFunction<ActivityCursor, Integer, List<ActivityLogDto>> pageLoader,
+            final int pageSize) {
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+
+        this.setRenderer(new ComponentRenderer<>(this::createEntry));
+        // No count query: the list grows as long as further pages are returned
+        this.setItems(query -> this.fetch(query.getOffset(), query.getLimit()));
+    }
+
+    /**
+     * Discard all loaded entries and start again from the newest.
+     */
+    public void reload() {
+        this.loaded.clear();
+        this.exhausted = false;
+        this.getDataProvider().refreshAll();
+    }
+
+    private Stream<ActivityLogDto> fetch(final int offset, final int limit) {
+        while (!this.exhausted && this.loaded.size() < offset + limit) {
+            final var cursor = this.loaded.isEmpty() ? null : ActivityCursor.of(this.loaded.getLast());
+            final var page = this.pageLoader.apply(cursor, this.pageSize);
+            this.loaded.addAll(page);
+            this.exhausted = page.size() < this.pageSize;
+        }
+        final var from = Math.min(offset, this.loaded.size());
+        final var to = Math.min(offset + limit, this.loaded.size());
+        return List.copyOf(this.loaded.subList(from, to)).stream();
+    }
+
+    private Div createEntry(final ActivityLogDto log) {
+        final var time = new Span(log.createdAt().format(TIMESTAMP_FORMAT));
+        time.getStyle().set("color", "var(--lumo-secondary-text-color)");
+
+        final var summary = new Span(" %s %s %s #%d".formatted(
+                log.userName() != null ? log.userName() : "System",
+                log.action().toLowerCase(Locale.ROOT),
+                log.entityType(),
+                log.entityId()));
+
+        final var entry = new Div(time, summary);
+        final var details = ActivityDetails.summarize(log.details());
+        if (details != null) {
+            entry.add(new Div(details));
+        }
+        entry.getStyle().set("padding", "var(--lumo-space-xs) 0");
+        return entry;
+    }
+}
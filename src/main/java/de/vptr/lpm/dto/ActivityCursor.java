@@ -0,0 +1,26 @@
+package de.vptr.lpm.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position in an activity feed, used for keyset pagination. Entries are
+ * ordered by creation time and ID, so the pair identifies a position even
+ * when several entries share a timestamp.
+ *
+ * @param createdAt creation timestamp of the entry at the cursor
+ * @param id        ID of the entry at the cursor
+ */
+public record ActivityCursor(
+        LocalDateTime createdAt,
+        Long id) {
+
+    /**
+     * Creates a cursor positioned at an activity log entry.
+     *
+     * @param log the activity log entry
+     * @return a cursor at the given entry
+     */
+    public static ActivityCursor of(final ActivityLogDto log) {
+        return new ActivityCursor(log.createdAt(), log.id());
+    }
+}
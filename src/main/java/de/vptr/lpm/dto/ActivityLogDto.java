@@ -1,6 +1,7 @@
 package de.vptr.lpm.dto;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 import de.vptr.lpm.entity.ActivityLog;
 
@@ -27,19 +28,22 @@ public record ActivityLogDto(
         LocalDateTime createdAt) {
 
     /**
-     * Creates an ActivityLogDTO from an ActivityLog entity.
+     * Creates an ActivityLogDTO from an ActivityLog entity. The user name is
+     * taken from the resolved users, so the user is not loaded.
      *
-     * @param log the activity log entity
+     * @param log   the activity log entity
+     * @param users the resolved acting users by user ID
      * @return an ActivityLogDTO with the log's data
      */
-    public static ActivityLogDto fromEntity(final ActivityLog log) {
+    public static ActivityLogDto fromEntity(final ActivityLog log, final Map<Long, UserSummaryDto> users) {
+        final var userId = log.user != null ? log.user.id : null;
         return new ActivityLogDto(
                 log.id,
                 log.entityType,
                 log.entityId,
                 log.action,
-                log.user != null ? log.user.id : null,
-                log.user != null ? log.user.displayName : null,
+                userId,
+                UserSummaryDto.displayName(users, userId),
                 log.details,
                 log.getCreatedAt());
     }
@@ -0,0 +1,23 @@
+package de.vptr.lpm.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data transfer object for an activity log entry that has not been written
+ * yet.
+ *
+ * @param entityType type of entity modified
+ * @param entityId   ID of the entity modified
+ * @param action     action performed
+ * @param userId     ID of the user who performed the action, or null
+ * @param details    additional details about the action
+ * @param createdAt  timestamp of the activity
+ */
+public record ActivityLogEntryDto(
+        String entityType,
+        Long entityId,
+        String action,
+        Long userId,
+        String details,
+        LocalDateTime createdAt) {
+}
@@ -0,0 +1,26 @@
+package de.vptr.lpm.dto;
+
+/**
+ * Data transfer object for the statistics of one second-level cache region.
+ *
+ * @param regionName name of the cache region
+ * @param hitCount   number of successful lookups
+ * @param missCount  number of lookups that had to go to the database
+ * @param putCount   number of entries stored in the region
+ */
+public record CacheStatisticsDto(
+        String regionName,
+        long hitCount,
+        long missCount,
+        long putCount) {
+
+    /**
+     * Calculates the share of lookups served from the cache.
+     *
+     * @return hit ratio between 0 and 1, or 0 if there were no lookups
+     */
+    public double hitRatio() {
+        final var lookups = this.hitCount + this.missCount;
+        return lookups == 0 ? 0 : (double) this.hitCount / lookups;
+    }
+}
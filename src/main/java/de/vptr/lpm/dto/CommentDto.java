@@ -1,6 +1,7 @@
 package de.vptr.lpm.dto;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 import de.vptr.lpm.entity.Comment;
 
@@ -25,17 +26,20 @@ public record CommentDto(
         LocalDateTime updatedAt) {
 
     /**
-     * Creates a CommentDTO from a Comment entity.
+     * Creates a CommentDTO from a Comment entity. The author name is taken
+     * from the resolved users, so the author is not loaded.
      *
      * @param comment the comment entity
+     * @param users   the resolved authors by user ID
      * @return a CommentDTO with the comment's data
      */
-    public static CommentDto fromEntity(final Comment comment) {
+    public static CommentDto fromEntity(final Comment comment, final Map<Long, UserSummaryDto> users) {
+        final var authorId = comment.author != null ? comment.author.id : null;
         return new CommentDto(
                 comment.id,
                 comment.ticket != null ? comment.ticket.id : null,
-                comment.author != null ? comment.author.id : null,
-                comment.author != null ? comment.author.displayName : null,
+                authorId,
+                UserSummaryDto.displayName(users, authorId),
                 comment.content,
                 comment.getCreatedAt(),
                 comment.getUpdatedAt());
@@ -0,0 +1,16 @@
+package de.vptr.lpm.dto;
+
+import java.util.List;
+
+/**
+ * A page of comments on a ticket, newest first.
+ *
+ * @param comments   comments on this page, newest first
+ * @param totalCount total number of comments on the ticket
+ * @param hasOlder   whether older comments exist beyond this page
+ */
+public record CommentPageDto(
+        List<CommentDto> comments,
+        long totalCount,
+        boolean hasOlder) {
+}
@@ -0,0 +1,20 @@
+package de.vptr.lpm.dto;
+
+/**
+ * Data transfer object for the load of the password hashing executor.
+ *
+ * @param activeCount    number of hashes currently being computed
+ * @param queueDepth     number of hashes waiting for a thread
+ * @param completedCount number of hashes computed since startup
+ * @param rejectedCount  number of requests turned away because the queue was full
+ * @param maxThreads     number of hashing threads
+ * @param queueCapacity  maximum number of waiting hashes
+ */
+public record HashingStatisticsDto(
+        int activeCount,
+        int queueDepth,
+        long completedCount,
+        long rejectedCount,
+        int maxThreads,
+        int queueCapacity) {
+}
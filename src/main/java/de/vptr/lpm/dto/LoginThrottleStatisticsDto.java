@@ -0,0 +1,18 @@
+package de.vptr.lpm.dto;
+
+/**
+ * Data transfer object for the counters of the login throttle.
+ *
+ * @param rejectedByUsername attempts rejected because the username was throttled
+ * @param rejectedByAddress  attempts rejected because the client address was throttled
+ * @param lockouts           accounts locked because of repeated failures
+ * @param trackedUsernames   usernames currently tracked
+ * @param trackedAddresses   client addresses currently tracked
+ */
+public record LoginThrottleStatisticsDto(
+        long rejectedByUsername,
+        long rejectedByAddress,
+        long lockouts,
+        long trackedUsernames,
+        long trackedAddresses) {
+}
@@ -1,6 +1,7 @@
 package de.vptr.lpm.dto;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 import de.vptr.lpm.entity.Project;
 
@@ -33,19 +34,22 @@ public record ProjectDto(
         LocalDateTime updatedAt) {
 
     /**
-     * Creates a ProjectDTO from a Project entity.
+     * Creates a ProjectDTO from a Project entity. The owner name is taken from
+     * the resolved users, so the owner is not loaded.
      *
      * @param project the project entity
+     * @param users   the resolved owners by user ID
      * @return a ProjectDTO with the project's data
      */
-    public static ProjectDto fromEntity(final Project project) {
+    public static ProjectDto fromEntity(final Project project, final Map<Long, UserSummaryDto> users) {
+        final var ownerId = project.owner != null ? project.owner.id : null;
         return new ProjectDto(
                 project.id,
                 project.name,
                 project.projectKey,
                 project.description,
-                project.owner != null ? project.owner.id : null,
-                project.owner != null ? project.owner.displayName : null,
+                ownerId,
+                UserSummaryDto.displayName(users, ownerId),
                 project.status != null ? project.status.id : null,
                 project.status != null ? project.status.name : null,
                 project.members != null ? project.members.size() : 0,
@@ -1,6 +1,7 @@
 package de.vptr.lpm.dto;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 import de.vptr.lpm.entity.ProjectMember;
 
@@ -25,17 +26,20 @@ public record ProjectMemberDto(
         LocalDateTime updatedAt) {
 
     /**
-     * Creates a ProjectMemberDTO from a ProjectMember entity.
+     * Creates a ProjectMemberDTO from a ProjectMember entity. The user name is
+     * taken from the resolved users, so the user is not loaded.
      *
      * @param member the project member entity
+     * @param users  the resolved members by user ID
      * @return a ProjectMemberDTO with the member's data
      */
-    public static ProjectMemberDto fromEntity(final ProjectMember member) {
+    public static ProjectMemberDto fromEntity(final ProjectMember member, final Map<Long, UserSummaryDto> users) {
+        final var userId = member.user != null ? member.user.id : null;
         return new ProjectMemberDto(
                 member.id,
                 member.project != null ? member.project.id : null,
-                member.user != null ? member.user.id : null,
-                member.user != null ? member.user.displayName : null,
+                userId,
+                UserSummaryDto.displayName(users, userId),
                 member.role,
                 member.getCreatedAt(),
                 member.getUpdatedAt());
@@ -0,0 +1,14 @@
+package de.vptr.lpm.dto;
+
+/**
+ * Data transfer object for the footprint of logged-in Vaadin sessions.
+ *
+ * @param activeSessions        number of sessions with a logged-in user
+ * @param totalPrincipalBytes   serialized size of all session users together
+ * @param averagePrincipalBytes average serialized size of one session user
+ */
+public record SessionStatisticsDto(
+        int activeSessions,
+        long totalPrincipalBytes,
+        long averagePrincipalBytes) {
+}
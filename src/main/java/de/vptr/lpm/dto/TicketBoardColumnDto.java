@@ -0,0 +1,41 @@
+package de.vptr.lpm.dto;
+
+import java.util.List;
+
+/**
+ * Data transfer object for one status column of the ticket board. Holds the
+ * total number of tickets in the status and the first page of cards only.
+ *
+ * @param statusId    ID of the ticket status
+ * @param statusName  name of the ticket status
+ * @param statusColor color code of the ticket status
+ * @param ticketCount total number of tickets in this status
+ * @param tickets     first page of tickets in this status, newest first
+ */
+public record TicketBoardColumnDto(
+        Long statusId,
+        String statusName,
+        String statusColor,
+        long ticketCount,
+        List<TicketDto> tickets) {
+
+    /**
+     * Creates a copy of this column with different status metadata.
+     *
+     * @param status the ticket status
+     * @return a new TicketBoardColumnDto for the given status
+     */
+    public TicketBoardColumnDto withStatus(final TicketStatusDto status) {
+        return new TicketBoardColumnDto(status.id(), status.name(), status.color(), this.ticketCount, this.tickets);
+    }
+
+    /**
+     * Creates an empty column for a status without tickets.
+     *
+     * @param status the ticket status
+     * @return a TicketBoardColumnDto with no tickets
+     */
+    public static TicketBoardColumnDto empty(final TicketStatusDto status) {
+        return new TicketBoardColumnDto(status.id(), status.name(), status.color(), 0, List.of());
+    }
+}
@@ -1,29 +1,32 @@
 package de.vptr.lpm.dto;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 import de.vptr.lpm.entity.Ticket;
 
 /**
  * Data transfer object for Ticket entity.
  *
- * @param id           unique identifier
- * @param projectId    ID of the project
- * @param ticketKey    unique ticket key
- * @param title        ticket title
- * @param description  ticket description
- * @param typeId       ID of the ticket type
- * @param typeName     name of the ticket type
- * @param statusId     ID of the ticket status
- * @param statusName   name of the ticket status
- * @param priorityId   ID of the ticket priority
- * @param priorityName name of the ticket priority
- * @param assigneeId   ID of the assigned user
- * @param assigneeName display name of the assigned user
- * @param reporterId   ID of the reporting user
- * @param reporterName display name of the reporting user
- * @param createdAt    creation timestamp
- * @param updatedAt    last update timestamp
+ * @param id             unique identifier
+ * @param projectId      ID of the project
+ * @param ticketKey      unique ticket key
+ * @param title          ticket title
+ * @param description    ticket description
+ * @param typeId         ID of the ticket type
+ * @param typeName       name of the ticket type
+ * @param statusId       ID of the ticket status
+ * @param statusName     name of the ticket status
+ * @param priorityId     ID of the ticket priority
+ * @param priorityName   name of the ticket priority
+ * @param assigneeId     ID of the assigned user
+ * @param assigneeName   display name of the assigned user
+ * @param reporterId     ID of the reporting user
+ * @param reporterName   display name of the reporting user
+ * @param createdAt      creation timestamp
+ * @param updatedAt      last update timestamp
+ * @param commentCount   number of comments on the ticket
+ * @param lastActivityAt time of the latest ticket update or comment
  */
 public record TicketDto(
         Long id,
@@ -42,15 +45,21 @@ public record TicketDto(
         Long reporterId,
         String reporterName,
         LocalDateTime createdAt,
-        LocalDateTime updatedAt) {
+        LocalDateTime updatedAt,
+        int commentCount,
+        LocalDateTime lastActivityAt) {
 
     /**
-     * Creates a TicketDTO from a Ticket entity.
+     * Creates a TicketDTO from a Ticket entity. User names are taken from the
+     * resolved users, so the assignee and reporter are not loaded.
      *
      * @param ticket the ticket entity
+     * @param users  the resolved assignee and reporter by user ID
      * @return a TicketDTO with the ticket's data
      */
-    public static TicketDto fromEntity(final Ticket ticket) {
+    public static TicketDto fromEntity(final Ticket ticket, final Map<Long, UserSummaryDto> users) {
+        final var assigneeId = ticket.assignee != null ? ticket.assignee.id : null;
+        final var reporterId = ticket.reporter != null ? ticket.reporter.id : null;
         return new TicketDto(
                 ticket.id,
                 ticket.project != null ? ticket.project.id : null,
@@ -63,12 +72,14 @@ public record TicketDto(
                 ticket.status != null ? ticket.status.name : null,
                 ticket.priority != null ? ticket.priority.id : null,
                 ticket.priority != null ? ticket.priority.name : null,
-                ticket.assignee != null ? ticket.assignee.id : null,
-                ticket.assignee != null ? ticket.assignee.displayName : null,
-                ticket.reporter != null ? ticket.reporter.id : null,
-                ticket.reporter != null ? ticket.reporter.displayName : null,
+                assigneeId,
+                UserSummaryDto.displayName(users, assigneeId),
+                reporterId,
+                UserSummaryDto.displayName(users, reporterId),
                 ticket.getCreatedAt(),
-                ticket.getUpdatedAt());
+                ticket.getUpdatedAt(),
+                ticket.commentCount,
+                latest(ticket.getUpdatedAt(), ticket.lastCommentAt));
     }
 
     /**
@@ -86,4 +97,11 @@ public record TicketDto(
         ticket.description = this.description;
         return ticket;
     }
+
+    private static LocalDateTime latest(final LocalDateTime a, final LocalDateTime b) {
+        if (a == null || b == null) {
+            return a != null ? a : b;
+        }
+        return a.isAfter(b) ? a : b;
+    }
 }
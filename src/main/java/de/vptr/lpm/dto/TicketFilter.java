@@ -0,0 +1,72 @@
+package de.vptr.lpm.dto;
+
+import java.util.Set;
+
+/**
+ * Filter criteria for ticket queries. Null fields are not applied.
+ *
+ * @param searchText free text matched against ticket key and title
+ * @param projectId  ID of the project to restrict to
+ * @param statusId   ID of the ticket status to restrict to
+ * @param assigneeId ID of the assigned user to restrict to
+ * @param projectIds IDs of the projects the viewer may access; an empty set
+ *                   matches no tickets
+ */
+public record TicketFilter(
+        String searchText,
+        Long projectId,
+        Long statusId,
+        Long assigneeId,
+        Set<Long> projectIds) {
+
+    /**
+     * Creates a filter that is not restricted to accessible projects.
+     *
+     * @param searchText free text matched against ticket key and title
+     * @param projectId  ID of the project to restrict to
+     * @param statusId   ID of the ticket status to restrict to
+     * @param assigneeId ID of the assigned user to restrict to
+     */
+    public TicketFilter(final String searchText, final Long projectId, final Long statusId, final Long assigneeId) {
+        this(searchText, projectId, statusId, assigneeId, null);
+    }
+
+    /**
+     * Creates a filter that matches all tickets.
+     *
+     * @return an empty TicketFilter
+     */
+    public static TicketFilter empty() {
+        return new TicketFilter(null, null, null, null, null);
+    }
+
+    /**
+     * Creates a copy of this filter with a different search text.
+     *
+     * @param text the new search text (blank values are ignored)
+     * @return a new TicketFilter with the given search text
+     */
+    public TicketFilter withSearchText(final String text) {
+        return new TicketFilter(text, this.projectId, this.statusId, this.assigneeId, this.projectIds);
+    }
+
+    /**
+     * Creates a copy of this filter restricted to the given projects.
+     *
+     * @param ids the accessible project IDs, or null for all projects
+     * @return a new TicketFilter with the given project restriction
+     */
+    public TicketFilter withProjectIds(final Set<Long> ids) {
+        return new TicketFilter(this.searchText, this.projectId, this.statusId, this.assigneeId,
+                ids == null ? null : Set.copyOf(ids));
+    }
+
+    /**
+     * Checks whether a non-blank search text is set.
+     *
+     * @return true if the filter restricts by search text
+     */
+    public boolean hasSearchText() {
+        return this.searchText != null && !this.searchText.isBlank();
+    }
+}
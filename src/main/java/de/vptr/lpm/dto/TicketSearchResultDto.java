@@ -0,0 +1,26 @@
+package de.vptr.lpm.dto;
+
+/**
+ * Data transfer object for a ranked full-text search hit.
+ *
+ * @param ticket  the matching ticket
+ * @param rank    relevance of the match, higher is better
+ * @param snippet excerpt of title and description with matches enclosed in
+ *                {@link #HIGHLIGHT_START} and {@link #HIGHLIGHT_END}
+ */
+public record TicketSearchResultDto(
+        TicketDto ticket,
+        float rank,
+        String snippet) {
+
+    /**
+     * Marks the start of a highlighted match in the snippet. A control
+     * character is used so markers can never collide with ticket text.
+     */
+    public static final char HIGHLIGHT_START = '\u0002';
+
+    /**
+     * Marks the end of a highlighted match in the snippet.
+     */
+    public static final char HIGHLIGHT_END = '\u0003';
+}
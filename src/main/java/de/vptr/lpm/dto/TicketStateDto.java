@@ -0,0 +1,17 @@
+package de.vptr.lpm.dto;
+
+/**
+ * Data transfer object for the current workflow fields of a ticket, read
+ * before a bulk change so the change can be logged with its old values.
+ *
+ * @param id         unique identifier
+ * @param statusId   ID of the ticket status
+ * @param assigneeId ID of the assigned user
+ * @param priorityId ID of the ticket priority
+ */
+public record TicketStateDto(
+        Long id,
+        Long statusId,
+        Long assigneeId,
+        Long priorityId) {
+}
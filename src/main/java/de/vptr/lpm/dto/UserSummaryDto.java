@@ -0,0 +1,36 @@
+package de.vptr.lpm.dto;
+
+import java.util.Map;
+
+import de.vptr.lpm.enums.UserStatus;
+
+/**
+ * Data transfer object for the user fields shown next to other entities, such
+ * as ticket assignees or comment authors.
+ *
+ * @param id          unique identifier
+ * @param username    unique username
+ * @param displayName display name shown in UI
+ * @param status      account status
+ */
+public record UserSummaryDto(
+        Long id,
+        String username,
+        String displayName,
+        UserStatus status) {
+
+    /**
+     * Looks up a user's display name in resolved user summaries.
+     *
+     * @param users  the resolved user summaries by user ID
+     * @param userId the user ID, may be null
+     * @return the display name, or null if the user is unknown
+     */
+    public static String displayName(final Map<Long, UserSummaryDto> users, final Long userId) {
+        if (userId == null) {
+            return null;
+        }
+        final var user = users.get(userId);
+        return user != null ? user.displayName() : null;
+    }
+}
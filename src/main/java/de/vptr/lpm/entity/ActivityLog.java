@@ -2,6 +2,9 @@ package de.vptr.lpm.entity;
 
 import java.util.List;
 
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
@@ -45,8 +48,11 @@ public class ActivityLog extends AbstractEntity {
     public User user;
 
     /**
-     * Additional details about the action (e.g., what was changed).
+     * Additional details about the action as a JSON object, e.g. the changed
+     * properties with their old and new values (see
+     * {@code de.vptr.lpm.audit.ActivityDetails}).
      */
+    @JdbcTypeCode(SqlTypes.JSON)
     public String details;
 
     /**
@@ -2,6 +2,7 @@ package de.vptr.lpm.entity;
 
 import java.util.Optional;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -14,6 +15,7 @@ import jakarta.validation.constraints.Size;
  * etc.).
  */
 @Entity
+@Cacheable
 @Table(name = "project_status")
 public class ProjectStatus extends AbstractEntity {
 
@@ -2,6 +2,7 @@ package de.vptr.lpm.entity;
 
 import java.util.Optional;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Table;
@@ -13,6 +14,7 @@ import jakarta.validation.constraints.Size;
  * and deleted by administrators.
  */
 @Entity
+@Cacheable
 @Table(name = "role")
 public class Role extends AbstractEntity {
 
@@ -1,5 +1,6 @@
 package de.vptr.lpm.entity;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import jakarta.persistence.*;
@@ -80,6 +81,21 @@ public class Ticket extends AbstractEntity {
     @JoinColumn(name = "reporter_id", nullable = false)
     public User reporter;
 
+    /**
+     * Number of comments on this ticket. Maintained by
+     * {@code TicketRepository} statements only, never written by entity
+     * updates, so concurrent edits cannot overwrite it with a stale value.
+     */
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false)
+    public int commentCount;
+
+    /**
+     * Creation time of the newest comment on this ticket. Maintained together
+     * with {@link #commentCount}.
+     */
+    @Column(name = "last_comment_at", insertable = false, updatable = false)
+    public LocalDateTime lastCommentAt;
+
     /**
      * Find a ticket by key.
      *
@@ -0,0 +1,35 @@
+package de.vptr.lpm.entity;
+
+import io.quarkus.hibernate.orm.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Per-project counter for ticket key numbers. The row holds the highest number
+ * already reserved for the project and is only ever advanced by an atomic
+ * update, so numbers are never handed out twice or reused after deletes.
+ */
+@Entity
+@Table(name = "ticket_key_sequence")
+public class TicketKeySequence extends PanacheEntityBase {
+
+    /**
+     * The project this counter belongs to.
+     */
+    @Id
+    @Column(name = "project_id")
+    public Long projectId;
+
+    /**
+     * The highest ticket number reserved so far.
+     */
+    @Column(name = "last_number", nullable = false)
+    public long lastNumber;
+
+    @Override
+    public String toString() {
+        return "TicketKeySequence(projectId=%s, lastNumber=%s)".formatted(this.projectId, this.lastNumber);
+    }
+}
@@ -11,6 +11,7 @@ import jakarta.validation.constraints.Size;
  * configurable and define the kinds of work items that can be created.
  */
 @Entity
+@Cacheable
 @Table(name = "ticket_type")
 public class TicketType extends AbstractEntity {
 
@@ -1,5 +1,6 @@
 package de.vptr.lpm.entity;
 
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
@@ -58,6 +59,13 @@ public class User extends AbstractEntity {
     @Column(nullable = false)
     public UserStatus status;
 
+    /**
+     * End of an automatic lockout after repeated failed logins. Null for
+     * accounts locked by an administrator, which stay locked until reactivated.
+     */
+    @Column(name = "locked_until")
+    public LocalDateTime lockedUntil;
+
     /**
      * Roles assigned to this user.
      */
@@ -0,0 +1,42 @@
+package de.vptr.lpm.enums;
+
+/**
+ * Enumeration of supported data export formats.
+ */
+public enum ExportFormat {
+    /**
+     * Comma-separated values with a header row (RFC 4180 quoting).
+     */
+    CSV("text/csv", "csv"),
+
+    /**
+     * Newline-delimited JSON, one object per line.
+     */
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    ExportFormat(final String contentType, final String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    /**
+     * Gets the MIME type of the format.
+     *
+     * @return the content type
+     */
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    /**
+     * Gets the file extension of the format, without leading dot.
+     *
+     * @return the file extension
+     */
+    public String getFileExtension() {
+        return this.fileExtension;
+    }
+}
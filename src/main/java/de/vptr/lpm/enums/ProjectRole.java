@@ -0,0 +1,33 @@
+package de.vptr.lpm.enums;
+
+/**
+ * Enumeration of the roles a user can have within a project. Project owners
+ * are treated as project managers.
+ */
+public enum ProjectRole {
+    /**
+     * Member who can view and work on the project's tickets.
+     */
+    DEVELOPER,
+
+    /**
+     * Member who can additionally manage the project's settings and members.
+     */
+    PROJECT_MANAGER;
+
+    /**
+     * Resolve the role stored on a project member. Unknown values are treated
+     * as the least privileged role.
+     *
+     * @param name the stored role name
+     * @return the matching role, or DEVELOPER if the name is unknown
+     */
+    public static ProjectRole fromName(final String name) {
+        for (final var role : values()) {
+            if (role.name().equals(name)) {
+                return role;
+            }
+        }
+        return DEVELOPER;
+    }
+}
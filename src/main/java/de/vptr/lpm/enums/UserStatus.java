@@ -17,7 +17,8 @@ public enum UserStatus {
 
     /**
      * User account is locked due to security reasons (e.g., too many failed login
-     * attempts).
+     * attempts). Automatic lockouts end by themselves after the configured
+     * lockout duration.
      */
     LOCKED
 }
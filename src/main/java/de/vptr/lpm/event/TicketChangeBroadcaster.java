@@ -0,0 +1,49 @@
+package de.vptr.lpm.event;
+
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.vaadin.flow.shared.Registration;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.event.TransactionPhase;
+
+/**
+ * Distributes ticket change events to registered listeners once the
+ * originating transaction has committed. Listeners are called on the
+ * committing thread and must hand work off quickly (e.g. via
+ * {@code UI.access}).
+ */
+@ApplicationScoped
+public class TicketChangeBroadcaster {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TicketChangeBroadcaster.class);
+
+    private final Set<Consumer<TicketChangeEvent>> listeners = new CopyOnWriteArraySet<>();
+
+    /**
+     * Register a listener for ticket changes.
+     *
+     * @param listener the listener to notify
+     * @return a registration that removes the listener
+     */
+    public Registration register(final Consumer<TicketChangeEvent> listener) {
+        this.listeners.add(listener);
+        return () -> this.listeners.remove(listener);
+    }
+
+    void onTicketChange(@Observes(during = TransactionPhase.AFTER_SUCCESS) final TicketChangeEvent event) {
+        for (final var listener : this.listeners) {
+            try {
+                listener.accept(event);
+            } catch (final RuntimeException e) {
+                LOG.warn("Ticket change listener failed for ticket {}", event.ticketId(), e);
+            }
+        }
+    }
+}
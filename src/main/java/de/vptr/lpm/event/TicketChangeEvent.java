@@ -0,0 +1,80 @@
+package de.vptr.lpm.event;
+
+import de.vptr.lpm.dto.TicketDto;
+
+/**
+ * Event describing a committed change to a ticket. Fired by the ticket service
+ * and delivered to open views so they can apply the change in place.
+ *
+ * @param type             kind of change
+ * @param ticketId         ID of the changed ticket
+ * @param projectId        ID of the ticket's project
+ * @param previousStatusId status ID before the change (null for created
+ *                         tickets)
+ * @param ticket           ticket state after the change (null for deleted
+ *                         tickets)
+ */
+public record TicketChangeEvent(
+        Type type,
+        Long ticketId,
+        Long projectId,
+        Long previousStatusId,
+        TicketDto ticket) {
+
+    /**
+     * Kind of ticket change.
+     */
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * Creates an event for a newly created ticket.
+     *
+     * @param ticket the created ticket
+     * @return a CREATED event
+     */
+    public static TicketChangeEvent created(final TicketDto ticket) {
+        return new TicketChangeEvent(Type.CREATED, ticket.id(), ticket.projectId(), null, ticket);
+    }
+
+    /**
+     * Creates an event for an updated ticket.
+     *
+     * @param previousStatusId the status ID before the update
+     * @param ticket           the updated ticket
+     * @return an UPDATED event
+     */
+    public static TicketChangeEvent updated(final Long previousStatusId, final TicketDto ticket) {
+        return new TicketChangeEvent(Type.UPDATED, ticket.id(), ticket.projectId(), previousStatusId, ticket);
+    }
+
+    /**
+     * Creates an event for a deleted ticket.
+     *
+     * @param ticketId  the ticket ID
+     * @param projectId the ticket's project ID
+     * @param statusId  the ticket's status ID at deletion
+     * @return a DELETED event
+     */
+    public static TicketChangeEvent deleted(final Long ticketId, final Long projectId, final Long statusId) {
+        return new TicketChangeEvent(Type.DELETED, ticketId, projectId, statusId, null);
+    }
+
+    /**
+     * Combines this event with a later event for the same ticket into a single
+     * net change, so that consumers batching events only apply one diff.
+     *
+     * @param later the later event for the same ticket
+     * @return the combined event, or null if the changes cancel out
+     */
+    public TicketChangeEvent coalesce(final TicketChangeEvent later) {
+        if (this.type == Type.CREATED) {
+            return later.type == Type.DELETED ? null : created(later.ticket);
+        }
+        return new TicketChangeEvent(later.type, later.ticketId, later.projectId, this.previousStatusId,
+                later.ticket);
+    }
+}
@@ -1,9 +1,23 @@
 package de.vptr.lpm.repository;
 
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import org.hibernate.Session;
+
+import de.vptr.lpm.dto.ActivityCursor;
+import de.vptr.lpm.dto.ActivityLogDto;
+import de.vptr.lpm.dto.ActivityLogEntryDto;
 import de.vptr.lpm.entity.ActivityLog;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
 
 /**
@@ -12,6 +26,30 @@ import jakarta.enterprise.context.ApplicationScoped;
 @ApplicationScoped
 public class ActivityLogRepository implements PanacheRepository<ActivityLog> {
 
+    /**
+     * Name prefix of the monthly partitions, followed by yyyyMM.
+     */
+    private static final String PARTITION_PREFIX = "activity_log_p";
+
+    private static final String DEFAULT_PARTITION = "activity_log_default";
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private static final String INSERT_SQL = "insert into activity_log"
+            + " (entityType, entityId, action, user_id, details, created_at, updated_at)"
+            + " values (?, ?, ?, ?, cast(? as jsonb), ?, ?)";
+
+    /**
+     * Entries of one entity type whose details contain a JSON document. The
+     * {@code @>} operator is served by the GIN index on {@code details}.
+     */
+    private static final String DETAILS_SQL = "select l.id, l.entityType, l.entityId, l.action, u.id as user_id,"
+            + " u.display_name, cast(l.details as text), l.created_at"
+            + " from activity_log l left join \"user\" u on u.id = l.user_id"
+            + " where l.entityType = :entityType and l.details @> cast(:contained as jsonb)"
+            + " order by l.created_at desc, l.id desc"
+            + " limit :limit";
+
     /**
      * Find all activity logs for an entity.
      *
@@ -32,4 +70,269 @@ public class ActivityLogRepository implements PanacheRepository<ActivityLog> {
     public List<ActivityLog> findByUser(final Long userId) {
         return this.find("user.id = ?1 order by createdAt desc", userId).list();
     }
+
+    /**
+     * Find a page of activity logs for an entity, newest first.
+     *
+     * @param entityType the entity type
+     * @param entityId   the entity ID
+     * @param cursor     the cursor to page from, or null to start at the newest
+     *                   entry
+     * @param older      true for entries older than the cursor, false for newer
+     *                   ones
+     * @param limit      maximum number of entries to return
+     * @return list of activity logs, newest first
+     */
+    public List<ActivityLog> findPageByEntity(
+            final String entityType,
+            final Long entityId,
+            final ActivityCursor cursor,
+            final boolean older,
+            final int limit) {
+        return this.findPage("l.entityType = :entityType and l.entityId = :entityId",
+                Parameters.with("entityType", entityType).and("entityId", entityId), cursor, older, limit);
+    }
+
+    /**
+     * Find a page of activity logs by a user, newest first.
+     *
+     * @param userId the user ID
+     * @param cursor the cursor to page from, or null to start at the newest
+     *               entry
+     * @param older  true for entries older than the cursor, false for newer ones
+     * @param limit  maximum number of entries to return
+     * @return list of activity logs, newest first
+     */
+    public List<ActivityLog> findPageByUser(
+            final Long userId,
+            final ActivityCursor cursor,
+            final boolean older,
+            final int limit) {
+        return this.findPage("l.user.id = :userId", Parameters.with("userId", userId), cursor, older, limit);
+    }
+
+    /**
+     * Find the newest activity logs of an entity type whose details contain a
+     * JSON document, e.g. {@code {"changes":{"assignee":{"new":5}}}}.
+     *
+     * @param entityType the entity type
+     * @param contained  the JSON document the details must contain
+     * @param limit      maximum number of entries to return
+     * @return list of activity log DTOs, newest first
+     */
+    public List<ActivityLogDto> findDtosByDetails(final String entityType, final String contained, final int limit) {
+        @SuppressWarnings("unchecked")
+        final List<Object[]> rows = this.getEntityManager().createNativeQuery(DETAILS_SQL)
+                .setParameter("entityType", entityType)
+                .setParameter("contained", contained)
+                .setParameter("limit", limit)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new ActivityLogDto(
+                        ((Number) row[0]).longValue(),
+                        (String) row[1],
+                        ((Number) row[2]).longValue(),
+                        (String) row[3],
+                        row[4] != null ? ((Number) row[4]).longValue() : null,
+                        (String) row[5],
+                        (String) row[6],
+                        row[7] instanceof final Timestamp timestamp ? timestamp.toLocalDateTime()
+                                : (LocalDateTime) row[7]))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Insert activity log entries using a single JDBC batch. With the driver's
+     * batch rewriting enabled this is sent as multi-row INSERT statements.
+     *
+     * @param entries the entries to insert
+     */
+    public void insertAll(final Collection<ActivityLogEntryDto> entries) {
+        this.getEntityManager().unwrap(Session.class).doWork(connection -> {
+            try (final var statement = connection.prepareStatement(INSERT_SQL)) {
+                for (final var entry : entries) {
+                    final var createdAt = Timestamp.valueOf(entry.createdAt());
+                    statement.setString(1, entry.entityType());
+                    statement.setLong(2, entry.entityId());
+                    statement.setString(3, entry.action());
+                    statement.setObject(4, entry.userId(), Types.BIGINT);
+                    statement.setString(5, entry.details());
+                    statement.setTimestamp(6, createdAt);
+                    statement.setTimestamp(7, createdAt);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+        });
+    }
+
+    /**
+     * Find the months that have an activity log partition.
+     *
+     * @return list of partition months, oldest first
+     */
+    public List<YearMonth> findPartitionMonths() {
+        @SuppressWarnings("unchecked")
+        final List<String> names = this.getEntityManager().createNativeQuery(
+                "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid"
+                        + " where i.inhparent = 'activity_log'::regclass and c.relname ~ '^"
+                        + PARTITION_PREFIX + "[0-9]{6}$'")
+                .getResultList();
+        return names.stream()
+                .map(name -> YearMonth.parse(name.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Check whether the activity log partition of a month exists.
+     *
+     * @param month the month
+     * @return true if the partition exists
+     */
+    public boolean partitionExists(final YearMonth month) {
+        return (Boolean) this.getEntityManager()
+                .createNativeQuery("select to_regclass(:name) is not null")
+                .setParameter("name", partitionName(month))
+                .getSingleResult();
+    }
+
+    /**
+     * Create the activity log partition for a month, if it does not exist yet.
+     * Entries of that month in the default partition would make the creation
+     * fail, so they are moved into the new partition in the same transaction.
+     *
+     * @param month the month
+     * @return number of entries moved out of the default partition
+     */
+    public int createPartition(final YearMonth month) {
+        if (this.partitionExists(month)) {
+            return 0;
+        }
+        final var entityManager = this.getEntityManager();
+        final var range = monthRange(month);
+        // Keeps new entries for this month from landing in the default partition meanwhile
+        entityManager.createNativeQuery("lock table " + DEFAULT_PARTITION + " in exclusive mode").executeUpdate();
+        final var stranded = (Boolean) entityManager.createNativeQuery(
+                "select exists (select 1 from " + DEFAULT_PARTITION + " where " + range + ")")
+                .getSingleResult();
+        var moved = 0;
+        if (stranded) {
+            entityManager.createNativeQuery("create temporary table activity_log_moved"
+                    + " (like activity_log) on commit drop").executeUpdate();
+            moved = entityManager.createNativeQuery("with moved as (delete from " + DEFAULT_PARTITION
+                    + " where " + range + " returning *) insert into activity_log_moved select * from moved")
+                    .executeUpdate();
+        }
+        // Another node may have created it while this one waited for the lock
+        entityManager.createNativeQuery("create table if not exists " + partitionName(month)
+                + " partition of activity_log for values from ('" + month.atDay(1)
+                + "') to ('" + month.plusMonths(1).atDay(1) + "')")
+                .executeUpdate();
+        if (stranded) {
+            entityManager.createNativeQuery("insert into activity_log select * from activity_log_moved")
+                    .executeUpdate();
+        }
+        return moved;
+    }
+
+    /**
+     * Add the entries of a month's partition to the daily aggregates.
+     *
+     * @param month the month
+     * @return number of aggregate rows written
+     */
+    public int rollUpPartition(final YearMonth month) {
+        return this.rollUp(partitionName(month), "true");
+    }
+
+    /**
+     * Add the entries in the default partition that are older than a month to
+     * the daily aggregates.
+     *
+     * @param month the first month whose entries are kept
+     * @return number of aggregate rows written
+     */
+    public int rollUpDefaultBefore(final YearMonth month) {
+        return this.rollUp(DEFAULT_PARTITION, "created_at < '" + month.atDay(1) + "'");
+    }
+
+    /**
+     * Delete the entries in the default partition that are older than a month.
+     *
+     * @param month the first month whose entries are kept
+     * @return number of deleted entries
+     */
+    public int deleteDefaultBefore(final YearMonth month) {
+        return this.getEntityManager().createNativeQuery("delete from " + DEFAULT_PARTITION
+                + " where created_at < '" + month.atDay(1) + "'")
+                .executeUpdate();
+    }
+
+    /**
+     * Drop the activity log partition of a month, deleting its entries.
+     *
+     * @param month the month
+     */
+    public void dropPartition(final YearMonth month) {
+        this.getEntityManager().createNativeQuery("drop table if exists " + partitionName(month))
+                .executeUpdate();
+    }
+
+    /**
+     * Take the transaction-scoped lock that serializes partition maintenance
+     * across application nodes.
+     *
+     * @return true if the lock was acquired, false if another node holds it
+     */
+    public boolean tryLockMaintenance() {
+        return (Boolean) this.getEntityManager()
+                .createNativeQuery("select pg_try_advisory_xact_lock(hashtext('activity_log_maintenance'))")
+                .getSingleResult();
+    }
+
+    private List<ActivityLog> findPage(
+            final String condition,
+            final Parameters params,
+            final ActivityCursor cursor,
+            final boolean older,
+            final int limit) {
+        final var query = new StringBuilder("from ActivityLog l where ").append(condition);
+        if (cursor != null) {
+            // Row comparison lets the (..., created_at, id) index seek straight to the cursor
+            query.append(" and (l.createdAt, l.id) ")
+                    .append(older ? "<" : ">")
+                    .append(" (:createdAt, :id)");
+            params.and("createdAt", cursor.createdAt()).and("id", cursor.id());
+        }
+        final var direction = older || cursor == null ? "desc" : "asc";
+        query.append(" order by l.createdAt ").append(direction).append(", l.id ").append(direction);
+
+        final var logs = this.find(query.toString(), params).page(0, limit).list();
+        if (!older && cursor != null) {
+            // Fetched oldest first to get the entries closest to the cursor
+            Collections.reverse(logs);
+        }
+        return logs;
+    }
+
+    private int rollUp(final String table, final String condition) {
+        return this.getEntityManager().createNativeQuery("insert into activity_log_daily"
+                + " (day, entityType, action, user_id, entry_count)"
+                + " select cast(created_at as date), entityType, action, user_id, count(*)"
+                + " from " + table
+                + " where " + condition
+                + " group by cast(created_at as date), entityType, action, user_id"
+                + " on conflict (day, entityType, action, user_id)"
+                + " do update set entry_count = activity_log_daily.entry_count + excluded.entry_count")
+                .executeUpdate();
+    }
+
+    private static String monthRange(final YearMonth month) {
+        return "created_at >= '" + month.atDay(1) + "' and created_at < '" + month.plusMonths(1).atDay(1) + "'";
+    }
+
+    private static String partitionName(final YearMonth month) {
+        return PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+    }
 }
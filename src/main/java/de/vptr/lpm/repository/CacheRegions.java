@@ -0,0 +1,15 @@
+package de.vptr.lpm.repository;
+
+/**
+ * Names of second-level cache regions used by repository queries.
+ */
+public final class CacheRegions {
+
+    /**
+     * Query cache region for lookup lists (statuses, priorities, types, roles).
+     */
+    public static final String LOOKUP_QUERIES = "lookup-queries";
+
+    private CacheRegions() {
+    }
+}
@@ -1,9 +1,13 @@
 package de.vptr.lpm.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import de.vptr.lpm.dto.CommentDto;
 import de.vptr.lpm.entity.Comment;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
 import jakarta.enterprise.context.ApplicationScoped;
 
 /**
@@ -22,6 +26,32 @@ public class CommentRepository implements PanacheRepository<Comment> {
         return this.find("ticket.id = ?1 order by createdAt desc", ticketId).list();
     }
 
+    /**
+     * Find a page of comments on a ticket, newest first. Authors are not
+     * loaded; their names are resolved through the user directory.
+     *
+     * @param ticketId        the ticket ID
+     * @param beforeCreatedAt creation timestamp of the oldest comment already
+     *                        loaded, or null to start at the newest comment
+     * @param beforeId        ID of the oldest comment already loaded, or null
+     * @param limit           maximum number of comments to return
+     * @return list of comments, newest first
+     */
+    public List<Comment> findPageByTicket(
+            final Long ticketId,
+            final LocalDateTime beforeCreatedAt,
+            final Long beforeId,
+            final int limit) {
+        final var query = new StringBuilder("from Comment c where c.ticket.id = :ticketId");
+        final var params = Parameters.with("ticketId", ticketId);
+        if (beforeCreatedAt != null && beforeId != null) {
+            query.append(" and (c.createdAt, c.id) < (:createdAt, :id)");
+            params.and("createdAt", beforeCreatedAt).and("id", beforeId);
+        }
+        query.append(" order by c.createdAt desc, c.id desc");
+        return this.find(query.toString(), params).page(0, limit).list();
+    }
+
     /**
      * Find all comments by an author.
      *
@@ -31,4 +61,20 @@ public class CommentRepository implements PanacheRepository<Comment> {
     public List<Comment> findByAuthor(final Long userId) {
         return this.find("author.id = ?1", userId).list();
     }
+
+    /**
+     * Find all comments on a set of tickets as DTOs in a single query.
+     *
+     * @param ticketIds the ticket IDs
+     * @return list of comment DTOs, ordered by ticket and creation
+     */
+    public List<CommentDto> findDtosByTickets(final Collection<Long> ticketIds) {
+        return this.getEntityManager().createQuery("select new de.vptr.lpm.dto.CommentDto("
+                + "c.id, c.ticket.id, a.id, a.displayName, c.content, c.createdAt, c.updatedAt)"
+                + " from Comment c join c.author a"
+                + " where c.ticket.id in :ticketIds"
+                + " order by c.ticket.id, c.id", CommentDto.class)
+                .setParameter("ticketIds", ticketIds)
+                .getResultList();
+    }
 }
@@ -1,6 +1,8 @@
 package de.vptr.lpm.repository;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import de.vptr.lpm.entity.ProjectMember;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
@@ -12,6 +14,12 @@ import jakarta.enterprise.context.ApplicationScoped;
 @ApplicationScoped
 public class ProjectMemberRepository implements PanacheRepository<ProjectMember> {
 
+    /**
+     * Role reported by {@link #findProjectRolesByUser(Long)} for the owner of
+     * a project.
+     */
+    public static final String OWNER_ROLE = "OWNER";
+
     /**
      * Find all members of a project.
      *
@@ -32,4 +40,27 @@ public class ProjectMemberRepository implements PanacheRepository<ProjectMember>
     public ProjectMember findByProjectAndUser(final Long projectId, final Long userId) {
         return this.find("project.id = ?1 and user.id = ?2", projectId, userId).firstResult();
     }
+
+    /**
+     * Find the projects a user owns or is a member of, with the stored member
+     * role, in a single query.
+     *
+     * @param userId the user ID
+     * @return member role per project ID; {@link #OWNER_ROLE} for owned
+     *         projects
+     */
+    public Map<Long, String> findProjectRolesByUser(final Long userId) {
+        final var rows = this.getEntityManager().createQuery(
+                "select p.id, p.owner.id, pm.role"
+                        + " from Project p left join p.members pm on pm.user.id = :userId"
+                        + " where p.owner.id = :userId or pm.id is not null",
+                Object[].class)
+                .setParameter("userId", userId)
+                .getResultList();
+        final var roles = new HashMap<Long, String>();
+        for (final var row : rows) {
+            roles.put((Long) row[0], userId.equals(row[1]) ? OWNER_ROLE : (String) row[2]);
+        }
+        return roles;
+    }
 }
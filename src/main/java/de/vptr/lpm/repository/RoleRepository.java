@@ -1,7 +1,10 @@
 package de.vptr.lpm.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
+
 import de.vptr.lpm.entity.Role;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -19,6 +22,21 @@ public class RoleRepository implements PanacheRepository<Role> {
      * @return Optional containing the role if found
      */
     public Optional<Role> findByName(final String name) {
-        return this.find("name", name).firstResultOptional();
+        return this.find("name", name)
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, CacheRegions.LOOKUP_QUERIES)
+                .firstResultOptional();
+    }
+
+    /**
+     * Finds all roles ordered by sort order.
+     *
+     * @return list of all roles
+     */
+    public List<Role> findAllOrdered() {
+        return this.find("ORDER BY order")
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, CacheRegions.LOOKUP_QUERIES)
+                .list();
     }
 }
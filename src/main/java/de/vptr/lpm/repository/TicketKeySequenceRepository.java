@@ -0,0 +1,53 @@
+package de.vptr.lpm.repository;
+
+import de.vptr.lpm.entity.TicketKeySequence;
+import io.quarkus.hibernate.orm.panache.PanacheRepositoryBase;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.transaction.Transactional;
+
+/**
+ * Repository for per-project ticket key counters.
+ */
+@ApplicationScoped
+public class TicketKeySequenceRepository implements PanacheRepositoryBase<TicketKeySequence, Long> {
+
+    /**
+     * Atomically reserve a block of ticket numbers for a project. Runs in its own
+     * short transaction so the counter row is locked only for the single update,
+     * not for the lifetime of the caller's transaction.
+     *
+     * @param projectId the project ID
+     * @param blockSize how many numbers to reserve
+     * @return the highest number of the reserved block
+     */
+    @Transactional(Transactional.TxType.REQUIRES_NEW)
+    public long reserveBlock(final Long projectId, final int blockSize) {
+        final var reserved = this.advance(projectId, blockSize);
+        if (reserved != null) {
+            return reserved;
+        }
+
+        // First reservation for this project: seed the counter from any keys that
+        // already exist, then advance it. Concurrent seeders are absorbed by the
+        // conflict clause.
+        this.getEntityManager().createNativeQuery(
+                "insert into ticket_key_sequence (project_id, last_number) "
+                        + "select :projectId, coalesce(max(cast(substring(t.ticketKey from '[0-9]+$') as bigint)), 0) "
+                        + "from ticket t where t.project_id = :projectId "
+                        + "on conflict (project_id) do nothing")
+                .setParameter("projectId", projectId)
+                .executeUpdate();
+
+        return this.advance(projectId, blockSize);
+    }
+
+    private Long advance(final Long projectId, final int blockSize) {
+        final var result = this.getEntityManager().createNativeQuery(
+                "update ticket_key_sequence set last_number = last_number + :blockSize "
+                        + "where project_id = :projectId returning last_number")
+                .setParameter("blockSize", blockSize)
+                .setParameter("projectId", projectId)
+                .getResultList();
+        return result.isEmpty() ? null : ((Number) result.get(0)).longValue();
+    }
+}
@@ -2,6 +2,8 @@ package de.vptr.lpm.repository;
 
 import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
+
 import de.vptr.lpm.entity.TicketPriority;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -18,6 +20,9 @@ public class TicketPriorityRepository implements PanacheRepository<TicketPriorit
      * @return list of all ticket priorities
      */
     public List<TicketPriority> findAllOrdered() {
-        return this.find("ORDER BY order").list();
+        return this.find("ORDER BY order")
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, CacheRegions.LOOKUP_QUERIES)
+                .list();
     }
 }
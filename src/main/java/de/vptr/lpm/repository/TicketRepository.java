@@ -1,10 +1,33 @@
 package de.vptr.lpm.repository;
 
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+
+import de.vptr.lpm.dto.TicketBoardColumnDto;
+import de.vptr.lpm.dto.TicketDto;
+import de.vptr.lpm.dto.TicketFilter;
+import de.vptr.lpm.dto.TicketSearchResultDto;
+import de.vptr.lpm.dto.TicketStateDto;
 import de.vptr.lpm.entity.Ticket;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
 
 /**
  * Repository for Ticket entity with custom query methods.
@@ -12,6 +35,114 @@ import jakarta.enterprise.context.ApplicationScoped;
 @ApplicationScoped
 public class TicketRepository implements PanacheRepository<Ticket> {
 
+    /**
+     * Outer joins used by filtered queries so tickets without a type, status,
+     * priority or assignee are still returned when sorting by those columns.
+     */
+    private static final String FILTER_JOINS = " left join t.type ty"
+            + " left join t.status st"
+            + " left join t.priority pr"
+            + " left join t.assignee a";
+
+    /**
+     * Constructor expression that builds {@link TicketDto} rows directly from
+     * the joined tables, so DTO lists are loaded in a single round trip instead
+     * of one select per lazy association.
+     */
+    private static final String DTO_SELECT = "select new de.vptr.lpm.dto.TicketDto("
+            + "t.id, t.project.id, t.ticketKey, t.title, t.description, "
+            + "ty.id, ty.name, st.id, st.name, pr.id, pr.name, "
+            + "a.id, a.displayName, r.id, r.displayName, t.createdAt, t.updatedAt, "
+            + "t.commentCount, greatest(t.updatedAt, t.lastCommentAt))"
+            + " from Ticket t"
+            + " join t.reporter r"
+            + FILTER_JOINS;
+
+    /**
+     * Joins resolving lookup names for rows of a native subquery aliased
+     * {@code b}.
+     */
+    private static final String NATIVE_LOOKUP_JOINS = " join \"user\" r on r.id = b.reporter_id"
+            + " left join ticket_type ty on ty.id = b.type_id"
+            + " left join ticket_status st on st.id = b.status_id"
+            + " left join ticket_priority pr on pr.id = b.priority_id"
+            + " left join \"user\" a on a.id = b.assignee_id";
+
+    /**
+     * Native query returning the newest tickets of every status in a project
+     * together with the per-status total. Ranking and counting are done with
+     * window functions over the ticket table alone; lookup tables are joined
+     * only for the rows that survive the per-status limit.
+     */
+    private static final String BOARD_SQL = "select b.id, b.project_id, b.ticketKey, b.title, b.description,"
+            + " ty.id as type_id, ty.name as type_name, st.id as status_id, st.name as status_name,"
+            + " pr.id as priority_id, pr.name as priority_name, a.id as assignee_id,"
+            + " a.display_name as assignee_name, r.id as reporter_id, r.display_name as reporter_name,"
+            + " b.created_at, b.updated_at, b.comment_count, greatest(b.updated_at, b.last_comment_at),"
+            + " b.status_count, st.color as status_color"
+            + " from (select t.*,"
+            + " row_number() over (partition by t.status_id order by t.id desc) as rn,"
+            + " count(*) over (partition by t.status_id) as status_count"
+            + " from ticket t where t.project_id = :projectId and t.status_id is not null) b"
+            + NATIVE_LOOKUP_JOINS
+            + " where b.rn <= :cardsPerColumn"
+            + " order by b.status_id, b.rn";
+
+    /**
+     * Native full-text search over the generated {@code search_vector} column
+     * (GIN indexed). The inner query ranks and pages the matches; snippets and
+     * lookup names are only computed for the rows of the requested page.
+     */
+    private static final String SEARCH_SQL = "select b.id, b.project_id, b.ticketKey, b.title, b.description,"
+            + " ty.id as type_id, ty.name as type_name, st.id as status_id, st.name as status_name,"
+            + " pr.id as priority_id, pr.name as priority_name, a.id as assignee_id,"
+            + " a.display_name as assignee_name, r.id as reporter_id, r.display_name as reporter_name,"
+            + " b.created_at, b.updated_at, b.comment_count, greatest(b.updated_at, b.last_comment_at), b.rank,"
+            + " ts_headline('simple', b.title || ' ' || coalesce(b.description, ''), b.query,"
+            + " 'StartSel=' || chr(2) || ', StopSel=' || chr(3) || ', MaxFragments=2, MaxWords=20, MinWords=5')"
+            + " from (select t.*, q.query, ts_rank(t.search_vector, q.query) as rank"
+            + " from ticket t, to_tsquery('simple', :query) as q(query)"
+            + " where t.search_vector @@ q.query%s"
+            + " order by rank desc, t.id desc offset :offset limit :limit) b"
+            + NATIVE_LOOKUP_JOINS
+            + " order by b.rank desc, b.id desc";
+
+    /**
+     * Native full-text search returning every match, best match first, without
+     * snippets. Uses the same match and ranking as {@link #SEARCH_SQL}.
+     */
+    private static final String SEARCH_STREAM_SQL = "select b.id, b.project_id, b.ticketKey, b.title,"
+            + " b.description, ty.id as type_id, ty.name as type_name, st.id as status_id,"
+            + " st.name as status_name, pr.id as priority_id, pr.name as priority_name, a.id as assignee_id,"
+            + " a.display_name as assignee_name, r.id as reporter_id, r.display_name as reporter_name,"
+            + " b.created_at, b.updated_at, b.comment_count, greatest(b.updated_at, b.last_comment_at)"
+            + " from (select t.*, ts_rank(t.search_vector, q.query) as rank"
+            + " from ticket t, to_tsquery('simple', :query) as q(query)"
+            + " where t.search_vector @@ q.query%s) b"
+            + NATIVE_LOOKUP_JOINS
+            + " order by b.rank desc, b.id desc";
+
+    /**
+     * Rows fetched per database round trip when streaming results.
+     */
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Sortable properties mapped to their query paths. Anything not listed here
+     * is ignored, so sort input from the UI never reaches the query verbatim.
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "ticketKey", "t.ticketKey",
+            "title", "t.title",
+            "type", "ty.name",
+            "status", "st.name",
+            "priority", "pr.name",
+            "assignee", "a.displayName",
+            "createdAt", "t.createdAt",
+            "updatedAt", "t.updatedAt",
+            "commentCount", "t.commentCount",
+            "lastActivityAt", "greatest(t.updatedAt, t.lastCommentAt)");
+
     /**
      * Find all tickets in a project.
      *
@@ -41,4 +172,526 @@ public class TicketRepository implements PanacheRepository<Ticket> {
     public Ticket findByKey(final String ticketKey) {
         return this.find("ticketKey", ticketKey).firstResult();
     }
+
+    /**
+     * Find a ticket by ID as a DTO in a single query.
+     *
+     * @param id the ticket ID
+     * @return the ticket DTO if found, or null
+     */
+    public TicketDto findDtoById(final Long id) {
+        return this.createDtoQuery(" where t.id = :id", Parameters.with("id", id))
+                .getResultStream()
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Find all tickets in a project as DTOs in a single query.
+     *
+     * @param projectId the project ID
+     * @return list of ticket DTOs in the project
+     */
+    public List<TicketDto> findDtosByProject(final Long projectId) {
+        return this.createDtoQuery(" where t.project.id = :projectId order by t.id",
+                Parameters.with("projectId", projectId)).getResultList();
+    }
+
+    /**
+     * Find all tickets assigned to a user as DTOs in a single query.
+     *
+     * @param userId the user ID
+     * @return list of assigned ticket DTOs
+     */
+    public List<TicketDto> findDtosByAssignee(final Long userId) {
+        return this.createDtoQuery(" where a.id = :userId order by t.id",
+                Parameters.with("userId", userId)).getResultList();
+    }
+
+    /**
+     * Find all tickets as DTOs in a single query.
+     *
+     * @return list of all ticket DTOs
+     */
+    public List<TicketDto> listAllDtos() {
+        return this.createDtoQuery(" order by t.id", new Parameters()).getResultList();
+    }
+
+    /**
+     * Find a window of tickets matching a filter as DTOs. Filtering, sorting
+     * and paging are all done by the database; the ticket ID is always appended
+     * as a tie-breaker so that consecutive windows are stable.
+     *
+     * @param filter the filter criteria
+     * @param sort   the requested sort by property name (e.g. "title"), may
+     *               be null
+     * @param offset index of the first ticket to return
+     * @param limit  maximum number of tickets to return
+     * @return list of ticket DTOs in the requested window
+     */
+    public List<TicketDto> findDtosByFilter(final TicketFilter filter, final Sort sort, final int offset,
+            final int limit) {
+        final var params = new Parameters();
+        final var where = whereClause(filter, params);
+        return this.createDtoQuery(where + orderByClause(sort), params)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Load the board columns of a project in one query: the total ticket count
+     * of every status plus its newest tickets, up to a per-status limit.
+     * Statuses without tickets are not included.
+     *
+     * @param projectId      the project ID
+     * @param cardsPerColumn maximum number of tickets returned per status
+     * @return board columns keyed by status ID
+     */
+    public Map<Long, TicketBoardColumnDto> findBoardColumns(final Long projectId, final int cardsPerColumn) {
+        @SuppressWarnings("unchecked")
+        final List<Object[]> rows = this.getEntityManager().createNativeQuery(BOARD_SQL)
+                .setParameter("projectId", projectId)
+                .setParameter("cardsPerColumn", cardsPerColumn)
+                .getResultList();
+
+        final var tickets = new LinkedHashMap<Long, List<TicketDto>>();
+        final var columns = new LinkedHashMap<Long, TicketBoardColumnDto>();
+        for (final var row : rows) {
+            final var statusId = toLong(row[7]);
+            tickets.computeIfAbsent(statusId, id -> new ArrayList<>()).add(toTicketDto(row));
+            columns.computeIfAbsent(statusId, id -> new TicketBoardColumnDto(
+                    id, (String) row[8], (String) row[20], toLong(row[19]), tickets.get(id)));
+        }
+        return columns;
+    }
+
+    /**
+     * Find a page of tickets in one status of a project as DTOs, newest first.
+     * Used to load further board cards after the first page.
+     *
+     * @param projectId the project ID
+     * @param statusId  the ticket status ID
+     * @param offset    index of the first ticket to return
+     * @param limit     maximum number of tickets to return
+     * @return list of ticket DTOs in the requested window
+     */
+    public List<TicketDto> findDtosByProjectAndStatus(final Long projectId, final Long statusId, final int offset,
+            final int limit) {
+        return this.createDtoQuery(" where t.project.id = :projectId and st.id = :statusId order by t.id desc",
+                Parameters.with("projectId", projectId).and("statusId", statusId))
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * Full-text search tickets, ranked by relevance.
+     *
+     * @param tsQuery   the Postgres tsquery expression (see
+     *                  {@link #toPrefixQuery(String)})
+     * @param projectId  the project ID to restrict to, or null for all projects
+     * @param projectIds the accessible project IDs, or null for all projects
+     * @param offset     index of the first hit to return
+     * @param limit      maximum number of hits to return
+     * @return list of search hits, best match first
+     */
+    public List<TicketSearchResultDto> search(final String tsQuery, final Long projectId,
+            final Collection<Long> projectIds, final int offset, final int limit) {
+        final var query = this.getEntityManager().createNativeQuery(
+                SEARCH_SQL.formatted(searchRestrictions(projectId, projectIds)))
+                .setParameter("query", tsQuery)
+                .setParameter("offset", offset)
+                .setParameter("limit", limit);
+        bindSearchRestrictions(query, projectId, projectIds);
+
+        @SuppressWarnings("unchecked")
+        final List<Object[]> rows = query.getResultList();
+        final var results = new ArrayList<TicketSearchResultDto>(rows.size());
+        for (final var row : rows) {
+            results.add(new TicketSearchResultDto(toTicketDto(row), ((Number) row[19]).floatValue(),
+                    (String) row[20]));
+        }
+        return results;
+    }
+
+    /**
+     * Stream all full-text search hits as DTOs, best match first, in the same
+     * order as {@link #search(String, Long, Collection, int, int)}. Rows are
+     * fetched from a database cursor in chunks; must be called inside a
+     * transaction and the stream must be closed.
+     *
+     * @param tsQuery    the Postgres tsquery expression
+     * @param projectId  the project ID to restrict to, or null for all projects
+     * @param projectIds the accessible project IDs, or null for all projects
+     * @return stream of ticket DTOs
+     */
+    public Stream<TicketDto> streamSearchDtos(final String tsQuery, final Long projectId,
+            final Collection<Long> projectIds) {
+        final var query = this.getEntityManager().createNativeQuery(
+                SEARCH_STREAM_SQL.formatted(searchRestrictions(projectId, projectIds)))
+                .setParameter("query", tsQuery)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE);
+        bindSearchRestrictions(query, projectId, projectIds);
+
+        @SuppressWarnings("unchecked")
+        final Stream<Object[]> rows = query.getResultStream();
+        return rows.map(TicketRepository::toTicketDto);
+    }
+
+    /**
+     * Count full-text search hits.
+     *
+     * @param tsQuery    the Postgres tsquery expression
+     * @param projectId  the project ID to restrict to, or null for all projects
+     * @param projectIds the accessible project IDs, or null for all projects
+     * @return number of matching tickets
+     */
+    public long countSearch(final String tsQuery, final Long projectId, final Collection<Long> projectIds) {
+        final var query = this.getEntityManager().createNativeQuery(
+                "select count(*) from ticket t where t.search_vector @@ to_tsquery('simple', :query)"
+                        + searchRestrictions(projectId, projectIds))
+                .setParameter("query", tsQuery);
+        bindSearchRestrictions(query, projectId, projectIds);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    /**
+     * Convert free user input into a prefix-matching tsquery, so that partial
+     * words typed into a search field already match. Only letters and digits
+     * are kept, which also keeps tsquery syntax out of user input.
+     *
+     * @param text the user input
+     * @return the tsquery expression, or an empty string if nothing searchable
+     *         remains
+     */
+    public static String toPrefixQuery(final String text) {
+        if (text == null) {
+            return "";
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    /**
+     * Find tickets by ID as DTOs in a single query.
+     *
+     * @param ids the ticket IDs
+     * @return list of ticket DTOs, ordered by ID
+     */
+    public List<TicketDto> findDtosByIds(final Collection<Long> ids) {
+        return this.createDtoQuery(" where t.id in :ids order by t.id", Parameters.with("ids", ids))
+                .getResultList();
+    }
+
+    /**
+     * Stream all tickets matching a filter as DTOs, ordered by ID. Rows are
+     * fetched from a database cursor in chunks and are not attached to the
+     * persistence context, so memory use does not grow with the result size.
+     * Must be called inside a transaction and the stream must be closed.
+     *
+     * @param filter the filter criteria
+     * @return stream of ticket DTOs
+     */
+    public Stream<TicketDto> streamDtosByFilter(final TicketFilter filter) {
+        final var params = new Parameters();
+        return this.createDtoQuery(whereClause(filter, params) + " order by t.id", params)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    /**
+     * Find the IDs of all tickets matching a filter.
+     *
+     * @param filter the filter criteria
+     * @return list of matching ticket IDs, ordered by ID
+     */
+    public List<Long> findIdsByFilter(final TicketFilter filter) {
+        final var params = new Parameters();
+        final var query = this.getEntityManager().createQuery(
+                "select t.id from Ticket t" + whereClause(filter, params) + " order by t.id", Long.class);
+        params.map().forEach(query::setParameter);
+        return query.getResultList();
+    }
+
+    /**
+     * Find the current status, assignee and priority of tickets, optionally
+     * restricted to projects.
+     *
+     * @param ids        the ticket IDs
+     * @param projectIds IDs of the projects the tickets must belong to, or null
+     *                   for all projects
+     * @return map of ticket ID to its current state; tickets outside the
+     *         projects are left out
+     */
+    public Map<Long, TicketStateDto> findStates(final Collection<Long> ids, final Collection<Long> projectIds) {
+        final var query = this.getEntityManager().createQuery("select new de.vptr.lpm.dto.TicketStateDto("
+                + "t.id, st.id, a.id, pr.id) from Ticket t"
+                + " left join t.status st left join t.assignee a left join t.priority pr"
+                + " where t.id in :ids" + (projectIds != null ? " and t.project.id in :projectIds" : ""),
+                TicketStateDto.class)
+                .setParameter("ids", ids);
+        if (projectIds != null) {
+            query.setParameter("projectIds", projectIds);
+        }
+        return query.getResultList().stream()
+                .collect(Collectors.toMap(TicketStateDto::id, Function.identity()));
+    }
+
+    /**
+     * Apply the same change to many tickets with a single UPDATE statement.
+     * The persistence context is bypassed, so already loaded Ticket entities
+     * are stale afterwards.
+     *
+     * @param assignments the set clause, e.g. "assignee = :assignee"
+     * @param params      parameters used by the set clause
+     * @param ids         the ticket IDs to update
+     * @param projectIds  IDs of the projects the tickets must belong to, or
+     *                    null for all projects
+     * @return number of updated tickets
+     */
+    public int bulkUpdate(final String assignments, final Parameters params, final Collection<Long> ids,
+            final Collection<Long> projectIds) {
+        final var values = params.and("updatedAt", LocalDateTime.now()).and("ids", ids);
+        if (projectIds == null) {
+            return this.update(assignments + ", updatedAt = :updatedAt where id in :ids", values);
+        }
+        return this.update(assignments + ", updatedAt = :updatedAt where id in :ids and project.id in :projectIds",
+                values.and("projectIds", projectIds));
+    }
+
+    /**
+     * Read the maintained comment count of a ticket.
+     *
+     * @param ticketId the ticket ID
+     * @return number of comments on the ticket, 0 if the ticket does not exist
+     */
+    public long findCommentCount(final Long ticketId) {
+        return this.getEntityManager()
+                .createQuery("select t.commentCount from Ticket t where t.id = :ticketId", Integer.class)
+                .setParameter("ticketId", ticketId)
+                .getResultStream()
+                .findFirst()
+                .orElse(0);
+    }
+
+    /**
+     * Record a new comment on a ticket in its counters. The increment is done
+     * by the database, so concurrent comments on the same ticket are all
+     * counted.
+     *
+     * @param ticketId    the ticket ID
+     * @param commentedAt creation time of the new comment
+     */
+    public void incrementCommentCount(final Long ticketId, final LocalDateTime commentedAt) {
+        this.createCounterUpdate("update ticket set comment_count = comment_count + 1,"
+                + " last_comment_at = greatest(last_comment_at, :commentedAt) where id = :ticketId")
+                .setParameter("commentedAt", commentedAt)
+                .setParameter("ticketId", ticketId)
+                .executeUpdate();
+    }
+
+    /**
+     * Record a deleted comment on a ticket in its counters. The comment must
+     * already be deleted in the database, as the newest remaining comment
+     * becomes the ticket's last comment.
+     *
+     * @param ticketId the ticket ID
+     */
+    public void decrementCommentCount(final Long ticketId) {
+        this.createCounterUpdate("update ticket set comment_count = greatest(comment_count - 1, 0),"
+                + " last_comment_at = (select max(c.created_at) from comment c where c.ticket_id = ticket.id)"
+                + " where id = :ticketId")
+                .setParameter("ticketId", ticketId)
+                .executeUpdate();
+    }
+
+    /**
+     * Lock the next chunk of tickets for a comment counter repair. The row
+     * locks make concurrent comment changes on these tickets wait until the
+     * repair transaction ends.
+     *
+     * @param afterId only tickets with a greater ID are locked
+     * @param limit   maximum number of tickets to lock
+     * @return IDs of the locked tickets, in ascending order
+     */
+    public List<Long> lockCommentCounterChunk(final long afterId, final int limit) {
+        @SuppressWarnings("unchecked")
+        final List<Long> ids = this.getEntityManager()
+                .createNativeQuery("select t.id from ticket t where t.id > :afterId order by t.id limit :limit"
+                        + " for update", Long.class)
+                .setParameter("afterId", afterId)
+                .setParameter("limit", limit)
+                .getResultList();
+        return ids;
+    }
+
+    /**
+     * Recompute the comment counters of locked tickets from the comment table.
+     * Must run in the transaction that locked the tickets with
+     * {@link #lockCommentCounterChunk}, as a later statement: its snapshot then
+     * includes every comment change that committed before the lock was
+     * granted. Only tickets whose counters are out of date are written.
+     *
+     * @param ticketIds the locked ticket IDs
+     * @return number of tickets whose counters were corrected
+     */
+    public int repairCommentCounters(final Collection<Long> ticketIds) {
+        if (ticketIds.isEmpty()) {
+            return 0;
+        }
+        return this.createCounterUpdate("update ticket t"
+                + " set comment_count = x.comment_count, last_comment_at = x.last_comment_at"
+                + " from (select tk.id,"
+                + " (select count(*) from comment c where c.ticket_id = tk.id) as comment_count,"
+                + " (select max(c.created_at) from comment c where c.ticket_id = tk.id) as last_comment_at"
+                + " from ticket tk where tk.id in (:ticketIds)) x"
+                + " where t.id = x.id and (t.comment_count <> x.comment_count"
+                + " or t.last_comment_at is distinct from x.last_comment_at)")
+                .setParameter("ticketIds", ticketIds)
+                .executeUpdate();
+    }
+
+    /**
+     * Try to take the transaction-scoped lock that keeps the counter repair
+     * from running on several nodes at once.
+     *
+     * @return true if the lock was acquired
+     */
+    public boolean tryLockCounterRepair() {
+        return (Boolean) this.getEntityManager()
+                .createNativeQuery("select pg_try_advisory_xact_lock(hashtext('ticket_counter_repair'))")
+                .getSingleResult();
+    }
+
+    /**
+     * Count tickets matching a filter.
+     *
+     * @param filter the filter criteria
+     * @return number of matching tickets
+     */
+    public long countByFilter(final TicketFilter filter) {
+        final var params = new Parameters();
+        return this.count("from Ticket t" + whereClause(filter, params), params);
+    }
+
+    private static String searchRestrictions(final Long projectId, final Collection<Long> projectIds) {
+        final var sql = new StringBuilder();
+        if (projectId != null) {
+            sql.append(" and t.project_id = :projectId");
+        }
+        if (projectIds != null) {
+            sql.append(projectIds.isEmpty() ? " and false" : " and t.project_id in (:projectIds)");
+        }
+        return sql.toString();
+    }
+
+    private static void bindSearchRestrictions(final Query query, final Long projectId,
+            final Collection<Long> projectIds) {
+        if (projectId != null) {
+            query.setParameter("projectId", projectId);
+        }
+        if (projectIds != null && !projectIds.isEmpty()) {
+            query.setParameter("projectIds", projectIds);
+        }
+    }
+
+    private static String whereClause(final TicketFilter filter, final Parameters params) {
+        final var where = new StringBuilder(" where 1 = 1");
+        if (filter == null) {
+            return where.toString();
+        }
+        if (filter.hasSearchText()) {
+            where.append(" and (lower(t.title) like :search or lower(t.ticketKey) like :search)");
+            params.and("search", "%" + filter.searchText().trim().toLowerCase(Locale.ROOT) + "%");
+        }
+        if (filter.projectId() != null) {
+            where.append(" and t.project.id = :projectId");
+            params.and("projectId", filter.projectId());
+        }
+        if (filter.projectIds() != null) {
+            if (filter.projectIds().isEmpty()) {
+                where.append(" and 1 = 0");
+            } else {
+                where.append(" and t.project.id in :projectIds");
+                params.and("projectIds", filter.projectIds());
+            }
+        }
+        if (filter.statusId() != null) {
+            where.append(" and t.status.id = :statusId");
+            params.and("statusId", filter.statusId());
+        }
+        if (filter.assigneeId() != null) {
+            where.append(" and t.assignee.id = :assigneeId");
+            params.and("assigneeId", filter.assigneeId());
+        }
+        return where.toString();
+    }
+
+    private static TicketDto toTicketDto(final Object[] row) {
+        return new TicketDto(
+                toLong(row[0]),
+                toLong(row[1]),
+                (String) row[2],
+                (String) row[3],
+                (String) row[4],
+                toLong(row[5]),
+                (String) row[6],
+                toLong(row[7]),
+                (String) row[8],
+                toLong(row[9]),
+                (String) row[10],
+                toLong(row[11]),
+                (String) row[12],
+                toLong(row[13]),
+                (String) row[14],
+                toDateTime(row[15]),
+                toDateTime(row[16]),
+                ((Number) row[17]).intValue(),
+                toDateTime(row[18]));
+    }
+
+    private static Long toLong(final Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+
+    private static LocalDateTime toDateTime(final Object value) {
+        if (value instanceof final Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private TypedQuery<TicketDto> createDtoQuery(final String clauses, final Parameters params) {
+        final var query = this.getEntityManager().createQuery(DTO_SELECT + clauses, TicketDto.class);
+        params.map().forEach(query::setParameter);
+        return query;
+    }
+
+    private Query createCounterUpdate(final String sql) {
+        // Only the ticket table is touched, so other cached entities stay valid
+        return this.getEntityManager().createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Ticket.class);
+    }
+
+    private static String orderByClause(final Sort sort) {
+        final var orderBy = new StringBuilder();
+        if (sort != null) {
+            for (final var column : sort.getColumns()) {
+                final var path = SORT_COLUMNS.get(column.getName());
+                if (path == null) {
+                    continue;
+                }
+                orderBy.append(orderBy.isEmpty() ? " order by " : ", ")
+                        .append(path)
+                        .append(column.getDirection() == Sort.Direction.Descending ? " desc" : " asc");
+            }
+        }
+        return orderBy.isEmpty()
+                ? " order by t.id desc"
+                : orderBy.append(", t.id asc").toString();
+    }
 }
@@ -1,5 +1,9 @@
 package de.vptr.lpm.repository;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+
 import de.vptr.lpm.entity.TicketType;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
@@ -9,4 +13,16 @@ import jakarta.enterprise.context.ApplicationScoped;
  */
 @ApplicationScoped
 public class TicketTypeRepository implements PanacheRepository<TicketType> {
+
+    /**
+     * Find all ticket types ordered by name.
+     *
+     * @return list of all ticket types
+     */
+    public List<TicketType> findAllOrdered() {
+        return this.find("ORDER BY name")
+                .withHint(HibernateHints.HINT_CACHEABLE, true)
+                .withHint(HibernateHints.HINT_CACHE_REGION, CacheRegions.LOOKUP_QUERIES)
+                .list();
+    }
 }
@@ -1,8 +1,13 @@
 package de.vptr.lpm.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import de.vptr.lpm.dto.UserSummaryDto;
 import de.vptr.lpm.entity.User;
+import de.vptr.lpm.enums.UserStatus;
 import io.quarkus.hibernate.orm.panache.PanacheRepository;
 import jakarta.enterprise.context.ApplicationScoped;
 
@@ -22,6 +27,18 @@ public class UserRepository implements PanacheRepository<User> {
         return this.find("username", username).firstResultOptional();
     }
 
+    /**
+     * Finds a user by username together with the user's roles in a single
+     * query, for use on the login path.
+     *
+     * @param username the username to search for
+     * @return Optional containing the user with initialized roles if found
+     */
+    public Optional<User> findByUsernameWithRoles(final String username) {
+        return this.find("from User u left join fetch u.roles where u.username = ?1", username)
+                .singleResultOptional();
+    }
+
     /**
      * Finds a user by email.
      *
@@ -31,4 +48,45 @@ public class UserRepository implements PanacheRepository<User> {
     public Optional<User> findByEmail(final String email) {
         return this.find("email", email).firstResultOptional();
     }
+
+    /**
+     * Replaces a user's password hash, but only if it still has the expected
+     * value, so a concurrent password change is not overwritten.
+     *
+     * @param id           the user ID
+     * @param expectedHash the hash the user is expected to have
+     * @param newHash      the new hash
+     * @return true if the hash was replaced
+     */
+    public boolean updatePasswordHash(final Long id, final String expectedHash, final String newHash) {
+        return this.update("passwordHash = ?1 where id = ?2 and passwordHash = ?3", newHash, id, expectedHash) > 0;
+    }
+
+    /**
+     * Reactivates a user whose automatic lockout has ended. Accounts locked by
+     * an administrator have no lockout end and are left alone.
+     *
+     * @param id  the user ID
+     * @param now the current time
+     * @return true if the user was reactivated
+     */
+    public boolean unlockExpired(final Long id, final LocalDateTime now) {
+        return this.update("status = ?1, lockedUntil = null where id = ?2 and status = ?3 and lockedUntil <= ?4",
+                UserStatus.ACTIVE, id, UserStatus.LOCKED, now) > 0;
+    }
+
+    /**
+     * Finds the summaries of several users in a single query, without loading
+     * the user entities or their roles.
+     *
+     * @param ids the user IDs
+     * @return list of user summaries; unknown IDs are left out
+     */
+    public List<UserSummaryDto> findSummaries(final Collection<Long> ids) {
+        return this.getEntityManager().createQuery("select new de.vptr.lpm.dto.UserSummaryDto("
+                + "u.id, u.username, u.displayName, u.status)"
+                + " from User u where u.id in :ids", UserSummaryDto.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
 }
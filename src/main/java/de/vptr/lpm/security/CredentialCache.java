@@ -0,0 +1,195 @@
+package de.vptr.lpm.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import de.vptr.lpm.dto.CacheStatisticsDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Remembers successful password verifications for a short time, so clients
+ * that send credentials with every request (HTTP Basic) do not pay for a
+ * database lookup and key derivation each time.
+ *
+ * Entries are keyed by an HMAC of username and password under a random key
+ * that only lives in memory, so the cache never holds anything that could be
+ * used to recover or test passwords offline. Changes to a user's password,
+ * status or roles evict the user's entries once the change has committed.
+ */
+@ApplicationScoped
+public class CredentialCache {
+
+    private static final String CACHE_NAME = "verified-credentials";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    @ConfigProperty(name = "lpm.auth.credential-cache-ttl", defaultValue = "PT2M")
+    Duration ttl;
+
+    @ConfigProperty(name = "lpm.auth.credential-cache-max-size", defaultValue = "10000")
+    long maxSize;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    /**
+     * Incremented on every invalidation. Verifications that started before an
+     * invalidation may have read outdated data and are not cached.
+     */
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder putCount = new LongAdder();
+
+    private SecretKeySpec key;
+    private Cache<String, VerifiedCredential> cache;
+
+    @PostConstruct
+    void init() {
+        final var secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(this.ttl)
+                .maximumSize(this.maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Look up a previous successful verification of the given credentials.
+     *
+     * @param username the username
+     * @param password the plain-text password
+     * @return the verified user, or empty if the credentials are not cached
+     */
+    public Optional<VerifiedCredential> get(final String username, final String password) {
+        return Optional.ofNullable(this.cache.getIfPresent(this.keyFor(username, password)));
+    }
+
+    /**
+     * Get the current invalidation generation. Read it before loading the user
+     * and pass it to {@link #put}.
+     *
+     * @return the current generation
+     */
+    public long generation() {
+        return this.generation.get();
+    }
+
+    /**
+     * Remember a successful verification, unless an invalidation happened since
+     * the given generation was read.
+     *
+     * @param username           the username
+     * @param password           the plain-text password
+     * @param expectedGeneration the generation read before loading the user
+     * @param credential         the verified user
+     */
+    public void put(final String username, final String password, final long expectedGeneration,
+            final VerifiedCredential credential) {
+        if (this.generation.get() != expectedGeneration) {
+            return;
+        }
+        final var cacheKey = this.keyFor(username, password);
+        this.cache.put(cacheKey, credential);
+        this.putCount.increment();
+        if (this.generation.get() != expectedGeneration) {
+            // An invalidation raced with the put and may have missed the entry
+            this.cache.invalidate(cacheKey);
+        }
+    }
+
+    /**
+     * Evict all entries of a user once the current transaction completes.
+     *
+     * @param userId the user ID
+     */
+    public void invalidateUser(final Long userId) {
+        this.afterCompletion(() -> this.evict(credential -> credential.userId().equals(userId)));
+    }
+
+    /**
+     * Evict all entries once the current transaction completes.
+     */
+    public void invalidateAll() {
+        this.afterCompletion(() -> this.evict(credential -> true));
+    }
+
+    /**
+     * Get hit and miss statistics of the cache.
+     *
+     * @return the cache statistics
+     */
+    public CacheStatisticsDto getStatistics() {
+        final var stats = this.cache.stats();
+        return new CacheStatisticsDto(CACHE_NAME, stats.hitCount(), stats.missCount(), this.putCount.sum());
+    }
+
+    private void evict(final Predicate<VerifiedCredential> filter) {
+        this.generation.incrementAndGet();
+        this.cache.asMap().values().removeIf(filter);
+    }
+
+    private void afterCompletion(final Runnable eviction) {
+        if (this.transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            eviction.run();
+            return;
+        }
+        // Evicting only after the commit keeps concurrent logins from caching the old state
+        this.transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nothing to do before the commit
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                eviction.run();
+            }
+        });
+    }
+
+    private String keyFor(final String username, final String password) {
+        try {
+            final var mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(this.key);
+            final var usernameBytes = username.getBytes(StandardCharsets.UTF_8);
+            // Length prefix so that ("ab", "c") and ("a", "bc") do not collide
+            mac.update(ByteBuffer.allocate(Integer.BYTES).putInt(usernameBytes.length).array());
+            mac.update(usernameBytes);
+            return Base64.getEncoder().encodeToString(mac.doFinal(password.getBytes(StandardCharsets.UTF_8)));
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException("Could not compute credential key", e);
+        }
+    }
+
+    /**
+     * A successfully verified user.
+     *
+     * @param userId   the user ID
+     * @param username the username
+     * @param roles    the names of the user's roles
+     */
+    public record VerifiedCredential(Long userId, String username, Set<String> roles) {
+    }
+}
@@ -0,0 +1,21 @@
+package de.vptr.lpm.security;
+
+/**
+ * Thrown when a password cannot be hashed because every hashing thread is busy
+ * and the queue is full. The request was not attempted and may be retried
+ * later.
+ */
+public class HashingCapacityException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates the exception.
+     *
+     * @param message the detail message
+     * @param cause   the rejection reported by the executor
+     */
+    public HashingCapacityException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,210 @@
+package de.vptr.lpm.security;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import de.vptr.lpm.dto.LoginThrottleStatisticsDto;
+import de.vptr.lpm.entity.User;
+import de.vptr.lpm.enums.UserStatus;
+import de.vptr.lpm.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Limits login attempts per username and per client address with token
+ * buckets, so credential stuffing is turned away before any database access
+ * or password hashing. Accounts that keep failing are locked for the
+ * configured lockout duration and reactivated on the first login attempt after
+ * it. An administrator can end a lockout earlier by setting the account back
+ * to active.
+ *
+ * State is kept in memory in size-bounded maps whose entries expire when a
+ * key has not been seen for a while. Each bucket is updated lock-free, so
+ * attempts for different keys never contend.
+ */
+@ApplicationScoped
+public class LoginThrottle {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoginThrottle.class);
+
+    @ConfigProperty(name = "lpm.login.username-burst", defaultValue = "5")
+    int usernameBurst;
+
+    @ConfigProperty(name = "lpm.login.username-refill", defaultValue = "PT1M")
+    Duration usernameRefill;
+
+    @ConfigProperty(name = "lpm.login.address-burst", defaultValue = "20")
+    int addressBurst;
+
+    @ConfigProperty(name = "lpm.login.address-refill", defaultValue = "PT6S")
+    Duration addressRefill;
+
+    @ConfigProperty(name = "lpm.login.lockout-threshold", defaultValue = "20")
+    int lockoutThreshold;
+
+    @ConfigProperty(name = "lpm.login.lockout-duration", defaultValue = "PT15M")
+    Duration lockoutDuration;
+
+    @ConfigProperty(name = "lpm.login.tracking-expiry", defaultValue = "PT1H")
+    Duration trackingExpiry;
+
+    @ConfigProperty(name = "lpm.login.max-tracked-keys", defaultValue = "100000")
+    long maxTrackedKeys;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    CredentialCache credentialCache;
+
+    private final LongAdder rejectedByUsername = new LongAdder();
+    private final LongAdder rejectedByAddress = new LongAdder();
+    private final LongAdder lockouts = new LongAdder();
+
+    private Cache<String, UsernameAttempts> usernames;
+    private Cache<String, TokenBucket> addresses;
+
+    @PostConstruct
+    void init() {
+        this.usernames = Caffeine.newBuilder()
+                .expireAfterAccess(this.trackingExpiry)
+                .maximumSize(this.maxTrackedKeys)
+                .build();
+        this.addresses = Caffeine.newBuilder()
+                .expireAfterAccess(this.trackingExpiry)
+                .maximumSize(this.maxTrackedKeys)
+                .build();
+    }
+
+    /**
+     * Take one attempt from the username's and the client address's budget.
+     * Call this before looking up the user.
+     *
+     * @param username      the username being logged in
+     * @param clientAddress the client address, or null if unknown
+     * @return true if the attempt may proceed, false if it must be rejected
+     */
+    public boolean tryAcquire(final String username, final String clientAddress) {
+        final var now = System.nanoTime();
+        if (clientAddress != null) {
+            final var bucket = this.addresses.get(clientAddress,
+                    key -> new TokenBucket(this.addressBurst, this.addressRefill.toNanos(), now));
+            if (!bucket.tryConsume(now)) {
+                this.rejectedByAddress.increment();
+                LOG.debug("Throttled login attempt from {}", clientAddress);
+                return false;
+            }
+        }
+        if (!this.attemptsFor(username, now).bucket().tryConsume(now)) {
+            this.rejectedByUsername.increment();
+            LOG.debug("Throttled login attempt for {}", username);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Record a failed attempt. After too many consecutive failures the
+     * account is locked for the lockout duration, and the count starts over.
+     *
+     * @param username the username that failed to log in
+     */
+    public void recordFailure(final String username) {
+        final var attempts = this.attemptsFor(username, System.nanoTime());
+        if (attempts.failures().incrementAndGet() == this.lockoutThreshold) {
+            attempts.failures().set(0);
+            this.lock(username);
+        }
+    }
+
+    /**
+     * Reactivate a user whose automatic lockout has ended. Call this after
+     * loading the user and before checking its status.
+     *
+     * @param user the user trying to log in, or null; its status is updated
+     *             in place
+     * @return the given user
+     */
+    public User releaseExpiredLockout(final User user) {
+        if (user == null || user.status != UserStatus.LOCKED || user.lockedUntil == null
+                || user.lockedUntil.isAfter(LocalDateTime.now())) {
+            return user;
+        }
+        final var userId = user.id;
+        final boolean unlocked = QuarkusTransaction.requiringNew()
+                .call(() -> this.userRepository.unlockExpired(userId, LocalDateTime.now()));
+        if (unlocked) {
+            user.status = UserStatus.ACTIVE;
+            user.lockedUntil = null;
+            LOG.info("Lockout of user {} has ended", user.username);
+        }
+        return user;
+    }
+
+    /**
+     * Record a successful login, which resets the failure count.
+     *
+     * @param username the username that logged in
+     */
+    public void recordSuccess(final String username) {
+        final var attempts = this.usernames.getIfPresent(username);
+        if (attempts != null) {
+            attempts.failures().set(0);
+        }
+    }
+
+    /**
+     * Get the throttle counters.
+     *
+     * @return the counters since startup
+     */
+    public LoginThrottleStatisticsDto getStatistics() {
+        return new LoginThrottleStatisticsDto(
+                this.rejectedByUsername.sum(),
+                this.rejectedByAddress.sum(),
+                this.lockouts.sum(),
+                this.usernames.estimatedSize(),
+                this.addresses.estimatedSize());
+    }
+
+    private UsernameAttempts attemptsFor(final String username, final long now) {
+        return this.usernames.get(username, key -> new UsernameAttempts(
+                new TokenBucket(this.usernameBurst, this.usernameRefill.toNanos(), now), new AtomicInteger()));
+    }
+
+    private void lock(final String username) {
+        try {
+            final boolean locked = QuarkusTransaction.requiringNew().call(() -> this.userRepository
+                    .findByUsername(username)
+                    .filter(user -> user.status == UserStatus.ACTIVE)
+                    .map(user -> {
+                        user.status = UserStatus.LOCKED;
+                        user.lockedUntil = LocalDateTime.now().plus(this.lockoutDuration);
+                        this.credentialCache.invalidateUser(user.id);
+                        return true;
+                    })
+                    .orElse(false));
+            if (locked) {
+                this.lockouts.increment();
+                LOG.warn("Locked user {} for {} after {} failed login attempts", username, this.lockoutDuration,
+                        this.lockoutThreshold);
+            }
+        } catch (final RuntimeException e) {
+            LOG.error("Could not lock user {}", username, e);
+        }
+    }
+
+    private record UsernameAttempts(TokenBucket bucket, AtomicInteger failures) {
+    }
+}
@@ -0,0 +1,174 @@
+package de.vptr.lpm.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.vptr.lpm.dto.HashingStatisticsDto;
+import de.vptr.lpm.entity.User;
+import de.vptr.lpm.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Computes password hashes on a small dedicated thread pool. Key derivation is
+ * deliberately slow, so running it on request threads would let a burst of
+ * logins occupy every worker. The pool and its queue are bounded: when both
+ * are full, further requests fail fast instead of piling up.
+ */
+@ApplicationScoped
+public class PasswordHashingService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    @ConfigProperty(name = "lpm.password.hash-iterations", defaultValue = "310000")
+    int iterations;
+
+    @ConfigProperty(name = "lpm.password.hashing-threads", defaultValue = "2")
+    int threads;
+
+    @ConfigProperty(name = "lpm.password.hashing-queue-capacity", defaultValue = "32")
+    int queueCapacity;
+
+    @ConfigProperty(name = "lpm.password.hashing-timeout", defaultValue = "PT5S")
+    Duration timeout;
+
+    @Inject
+    UserRepository userRepository;
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        final var threadFactory = Thread.ofPlatform().name("password-hashing-", 0).daemon().factory();
+        this.executor = new ThreadPoolExecutor(this.threads, this.threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Hash a password with the configured parameters.
+     *
+     * @param password the plain-text password
+     * @return the encoded hash
+     * @throws HashingCapacityException if the hashing capacity is exhausted
+     */
+    public String hash(final String password) {
+        return this.run(() -> PasswordUtil.hashPassword(password, this.iterations));
+    }
+
+    /**
+     * Verify a password against a stored hash.
+     *
+     * @param password       the plain-text password
+     * @param hashedPassword the stored hash
+     * @return true if the password matches
+     * @throws HashingCapacityException if the hashing capacity is exhausted
+     */
+    public boolean verify(final String password, final String hashedPassword) {
+        return this.run(() -> PasswordUtil.verifyPassword(password, hashedPassword));
+    }
+
+    /**
+     * Check whether a stored hash was produced with other parameters than the
+     * configured ones.
+     *
+     * @param hashedPassword the stored hash
+     * @return true if the hash should be replaced
+     */
+    public boolean needsRehash(final String hashedPassword) {
+        return PasswordUtil.needsRehash(hashedPassword, this.iterations);
+    }
+
+    /**
+     * Verify a user's password and, if it matches but the stored hash uses
+     * outdated parameters, store a fresh hash. The upgrade is skipped if the
+     * password was changed concurrently.
+     *
+     * @param user     the user whose password to check
+     * @param password the plain-text password
+     * @return true if the password matches
+     * @throws HashingCapacityException if the hashing capacity is exhausted
+     */
+    public boolean verifyAndUpgrade(final User user, final String password) {
+        final var storedHash = user.passwordHash;
+        if (!this.verify(password, storedHash)) {
+            return false;
+        }
+        if (this.needsRehash(storedHash)) {
+            try {
+                final var newHash = this.hash(password);
+                final var userId = user.id;
+                final boolean updated = QuarkusTransaction.requiringNew()
+                        .call(() -> this.userRepository.updatePasswordHash(userId, storedHash, newHash));
+                if (updated) {
+                    user.passwordHash = newHash;
+                    LOG.info("Upgraded password hash for user {}", user.username);
+                }
+            } catch (final RuntimeException e) {
+                // The login itself succeeded, the upgrade is retried next time
+                LOG.warn("Could not upgrade password hash for user {}", user.username, e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the current load of the hashing executor.
+     *
+     * @return the executor statistics
+     */
+    public HashingStatisticsDto getStatistics() {
+        return new HashingStatisticsDto(
+                this.executor.getActiveCount(),
+                this.executor.getQueue().size(),
+                this.executor.getCompletedTaskCount(),
+                this.rejectedCount.get(),
+                this.executor.getMaximumPoolSize(),
+                this.queueCapacity);
+    }
+
+    private <T> T run(final Callable<T> task) {
+        final Future<T> future;
+        try {
+            future = this.executor.submit(task);
+        } catch (final RejectedExecutionException e) {
+            this.rejectedCount.incrementAndGet();
+            throw new HashingCapacityException("Too many concurrent logins, please try again", e);
+        }
+        try {
+            return future.get(this.timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException e) {
+            future.cancel(true);
+            throw new IllegalStateException("Password hashing timed out", e);
+        } catch (final InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof final RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
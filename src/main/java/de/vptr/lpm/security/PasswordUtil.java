@@ -4,19 +4,36 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.security.spec.InvalidKeySpecException;
 import java.util.Base64;
 
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
 /**
- * Utility class for password hashing and validation using SHA-256 with salt.
+ * Utility class for password hashing and validation using PBKDF2 with
+ * HMAC-SHA256 and a random salt.
  *
- * This class provides methods to securely hash passwords and verify plain-text
- * passwords against their hashed values.
+ * Hashes are stored in the self-describing format
+ * {@code pbkdf2-sha256$<iterations>$<salt>$<hash>}, so the cost can be raised
+ * later without invalidating existing hashes. Hashes in the legacy
+ * {@code salt:hash} format (iterated SHA-256) are still verified, and
+ * {@link #needsRehash(String, int)} reports them for upgrade.
  */
 public final class PasswordUtil {
 
+    /**
+     * Default PBKDF2 iteration count for new hashes.
+     */
+    public static final int DEFAULT_ITERATIONS = 310_000;
+
+    private static final String SCHEME = "pbkdf2-sha256";
+    private static final String PBKDF2_ALGORITHM = "PBKDF2WithHmacSHA256";
     private static final int SALT_LENGTH = 16;
-    private static final String HASH_ALGORITHM = "SHA-256";
-    private static final int HASH_ITERATIONS = 100000;
+    private static final int KEY_LENGTH_BITS = 256;
+
+    private static final String LEGACY_HASH_ALGORITHM = "SHA-256";
+    private static final int LEGACY_HASH_ITERATIONS = 100000;
 
     /**
      * Secure random instance for generating salts.
@@ -31,24 +48,42 @@ public final class PasswordUtil {
     }
 
     /**
-     * Hashes a plain-text password using SHA-256 with a random salt.
+     * Hashes a plain-text password with the default iteration count.
      *
      * @param password the plain-text password to hash
-     * @return the hashed password in format "salt:hash"
+     * @return the hashed password in format "pbkdf2-sha256$iterations$salt$hash"
      * @throws IllegalArgumentException if password is null or empty
      */
     public static String hashPassword(final String password) {
+        return hashPassword(password, DEFAULT_ITERATIONS);
+    }
+
+    /**
+     * Hashes a plain-text password with PBKDF2 and a random salt.
+     *
+     * @param password   the plain-text password to hash
+     * @param iterations the PBKDF2 iteration count
+     * @return the hashed password in format "pbkdf2-sha256$iterations$salt$hash"
+     * @throws IllegalArgumentException if password is null or empty, or the
+     *                                  iteration count is not positive
+     */
+    public static String hashPassword(final String password, final int iterations) {
         if (password == null || password.isEmpty()) {
             throw new IllegalArgumentException("Password cannot be null or empty");
         }
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Iterations must be positive: " + iterations);
+        }
 
         final var salt = generateSalt();
-        final var hash = hashWithSalt(password, salt);
-        return Base64.getEncoder().encodeToString(salt) + ":" + hash;
+        final var hash = pbkdf2(password, salt, iterations);
+        final var encoder = Base64.getEncoder();
+        return SCHEME + "$" + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
     }
 
     /**
-     * Verifies a plain-text password against a hashed password.
+     * Verifies a plain-text password against a hashed password in either the
+     * current or the legacy format.
      *
      * @param password       the plain-text password to verify
      * @param hashedPassword the hashed password to verify against
@@ -60,6 +95,17 @@ public final class PasswordUtil {
         }
 
         try {
+            if (hashedPassword.startsWith(SCHEME + "$")) {
+                final var parts = hashedPassword.split("\\$");
+                if (parts.length != 4) {
+                    return false;
+                }
+                final var iterations = Integer.parseInt(parts[1]);
+                final var salt = Base64.getDecoder().decode(parts[2]);
+                final var storedHash = Base64.getDecoder().decode(parts[3]);
+                return MessageDigest.isEqual(storedHash, pbkdf2(password, salt, iterations));
+            }
+
             final var parts = hashedPassword.split(":");
             if (parts.length != 2) {
                 return false;
@@ -67,7 +113,7 @@ public final class PasswordUtil {
 
             final var salt = Base64.getDecoder().decode(parts[0]);
             final var storedHash = parts[1];
-            final var computedHash = hashWithSalt(password, salt);
+            final var computedHash = legacyHashWithSalt(password, salt);
 
             return constantTimeEquals(storedHash, computedHash);
         } catch (final IllegalArgumentException e) {
@@ -76,26 +122,66 @@ public final class PasswordUtil {
     }
 
     /**
-     * Hashes a password with a given salt using SHA-256.
+     * Checks whether a hash should be replaced after the next successful
+     * login, because it uses the legacy format or a different iteration count.
+     *
+     * @param hashedPassword the stored hash
+     * @param iterations     the currently configured iteration count
+     * @return true if the password should be hashed again
+     */
+    public static boolean needsRehash(final String hashedPassword, final int iterations) {
+        if (hashedPassword == null || !hashedPassword.startsWith(SCHEME + "$")) {
+            return true;
+        }
+        final var parts = hashedPassword.split("\\$");
+        try {
+            return parts.length != 4 || Integer.parseInt(parts[1]) != iterations;
+        } catch (final NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Derives a key from a password with PBKDF2-HMAC-SHA256.
+     *
+     * @param password   the password
+     * @param salt       the salt bytes
+     * @param iterations the iteration count
+     * @return the derived key
+     */
+    private static byte[] pbkdf2(final String password, final byte[] salt, final int iterations) {
+        final var spec = new PBEKeySpec(password.toCharArray(), salt, iterations, KEY_LENGTH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(PBKDF2_ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (final NoSuchAlgorithmException | InvalidKeySpecException e) {
+            throw new IllegalStateException("Key derivation failed: " + PBKDF2_ALGORITHM, e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * Hashes a password with a given salt using iterated SHA-256, the format
+     * used before PBKDF2.
      *
      * @param password the password to hash
      * @param salt     the salt bytes
      * @return the hashed password as a Base64 string
      */
-    private static String hashWithSalt(final String password, final byte[] salt) {
+    private static String legacyHashWithSalt(final String password, final byte[] salt) {
         try {
-            final var digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            final var digest = MessageDigest.getInstance(LEGACY_HASH_ALGORITHM);
             digest.update(salt);
             var hash = digest.digest(password.getBytes(StandardCharsets.UTF_8));
 
-            for (int i = 1; i < HASH_ITERATIONS; i++) {
+            for (int i = 1; i < LEGACY_HASH_ITERATIONS; i++) {
                 digest.reset();
                 hash = digest.digest(hash);
             }
 
             return Base64.getEncoder().encodeToString(hash);
         } catch (final NoSuchAlgorithmException e) {
-            throw new RuntimeException("Hash algorithm not found: " + HASH_ALGORITHM, e);
+            throw new RuntimeException("Hash algorithm not found: " + LEGACY_HASH_ALGORITHM, e);
         }
     }
 
@@ -135,4 +221,4 @@ public final class PasswordUtil {
 
         return result == 0;
     }
-}
\ No newline at end of file
+}
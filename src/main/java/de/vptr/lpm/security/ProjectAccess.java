@@ -0,0 +1,51 @@
+package de.vptr.lpm.security;
+
+import java.util.Map;
+import java.util.Set;
+
+import de.vptr.lpm.enums.ProjectRole;
+
+/**
+ * The projects a user may access and the user's role in each of them.
+ *
+ * @param allProjects true if the user may access every project (administrators)
+ * @param roles       role per accessible project ID; empty if allProjects is set
+ */
+public record ProjectAccess(
+        boolean allProjects,
+        Map<Long, ProjectRole> roles) {
+
+    /**
+     * Access to every project with full rights.
+     */
+    public static final ProjectAccess ALL = new ProjectAccess(true, Map.of());
+
+    /**
+     * Checks whether the user may view a project and its tickets.
+     *
+     * @param projectId the project ID
+     * @return true if the project is accessible
+     */
+    public boolean canView(final Long projectId) {
+        return this.allProjects || this.roles.containsKey(projectId);
+    }
+
+    /**
+     * Checks whether the user may manage a project's settings and members.
+     *
+     * @param projectId the project ID
+     * @return true if the user is an administrator or manages the project
+     */
+    public boolean canManage(final Long projectId) {
+        return this.allProjects || this.roles.get(projectId) == ProjectRole.PROJECT_MANAGER;
+    }
+
+    /**
+     * Get the IDs of the accessible projects, for use as a query restriction.
+     *
+     * @return the project IDs, or null if every project is accessible
+     */
+    public Set<Long> projectIds() {
+        return this.allProjects ? null : this.roles.keySet();
+    }
+}
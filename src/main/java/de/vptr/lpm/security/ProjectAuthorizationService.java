@@ -0,0 +1,131 @@
+package de.vptr.lpm.security;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import de.vptr.lpm.dto.CacheStatisticsDto;
+import de.vptr.lpm.enums.ProjectRole;
+import de.vptr.lpm.repository.ProjectMemberRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Decides which projects a user may see and manage. Administrators may access
+ * every project; everybody else only the projects they own or are a member
+ * of. A user's project roles are loaded with one query and cached, so checks
+ * on every ticket read cost a map lookup. Membership and ownership changes
+ * evict the affected user once they have committed; renaming a project or
+ * changing its description does not affect access and evicts nothing.
+ * <p>
+ * Whether a user is an administrator is taken from the role names of the
+ * {@link SessionUser}, which are fixed at login. Granting or revoking the
+ * ADMIN role, or editing roles in the role management, therefore takes effect
+ * with the user's next login, not within a running session.
+ */
+@ApplicationScoped
+public class ProjectAuthorizationService {
+
+    private static final String CACHE_NAME = "project-access";
+
+    @ConfigProperty(name = "lpm.authorization.cache-ttl", defaultValue = "PT10M")
+    Duration cacheTtl;
+
+    @ConfigProperty(name = "lpm.authorization.cache-max-size", defaultValue = "10000")
+    long cacheMaxSize;
+
+    @Inject
+    ProjectMemberRepository projectMemberRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private Cache<Long, ProjectAccess> cache;
+
+    @PostConstruct
+    void init() {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(this.cacheTtl)
+                .maximumSize(this.cacheMaxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Get the projects a user may access. Administrator status is read from
+     * the session user's roles as they were at login.
+     *
+     * @param user the logged-in user
+     * @return the user's project access
+     */
+    public ProjectAccess accessFor(final SessionUser user) {
+        if (user.isAdmin()) {
+            return ProjectAccess.ALL;
+        }
+        return this.cache.get(user.id(), this::loadAccess);
+    }
+
+    /**
+     * Evict a user's cached project access once the current transaction
+     * completes.
+     *
+     * @param userId the user ID
+     */
+    public void invalidateUser(final Long userId) {
+        this.afterCompletion(() -> this.cache.invalidate(userId));
+    }
+
+    /**
+     * Evict all cached project access once the current transaction completes.
+     */
+    public void invalidateAll() {
+        this.afterCompletion(() -> this.cache.invalidateAll());
+    }
+
+    /**
+     * Get hit and miss statistics of the project access cache.
+     *
+     * @return the cache statistics
+     */
+    public CacheStatisticsDto getStatistics() {
+        final var stats = this.cache.stats();
+        return new CacheStatisticsDto(CACHE_NAME, stats.hitCount(), stats.missCount(), stats.loadSuccessCount());
+    }
+
+    private ProjectAccess loadAccess(final Long userId) {
+        final Map<Long, ProjectRole> roles = new HashMap<>();
+        this.projectMemberRepository.findProjectRolesByUser(userId).forEach((projectId, role) -> roles.put(
+                projectId, ProjectMemberRepository.OWNER_ROLE.equals(role)
+                        ? ProjectRole.PROJECT_MANAGER
+                        : ProjectRole.fromName(role)));
+        return new ProjectAccess(false, Map.copyOf(roles));
+    }
+
+    private void afterCompletion(final Runnable eviction) {
+        if (this.transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            eviction.run();
+            return;
+        }
+        // Evicting only after the commit keeps concurrent reads from caching the old memberships
+        this.transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nothing to do before the commit
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                eviction.run();
+            }
+        });
+    }
+}
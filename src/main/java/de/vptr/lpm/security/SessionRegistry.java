@@ -0,0 +1,59 @@
+package de.vptr.lpm.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.vaadin.flow.server.ServiceInitEvent;
+import com.vaadin.flow.server.VaadinSession;
+
+import de.vptr.lpm.dto.SessionStatisticsDto;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+
+/**
+ * Stores the logged-in user in the Vaadin session and keeps track of the
+ * serialized size of every stored user, so the memory taken by sessions can
+ * be reported without locking each session.
+ */
+@ApplicationScoped
+public class SessionRegistry {
+
+    private final Map<VaadinSession, Integer> principalSizes = new ConcurrentHashMap<>();
+
+    void onServiceInit(@Observes final ServiceInitEvent event) {
+        event.getSource().addSessionDestroyListener(
+                destroyEvent -> this.principalSizes.remove(destroyEvent.getSession()));
+    }
+
+    /**
+     * Store the logged-in user in a session, replacing a previous one.
+     *
+     * @param session the Vaadin session, locked by the caller
+     * @param user    the logged-in user
+     */
+    public void login(final VaadinSession session, final SessionUser user) {
+        session.setAttribute(SessionUser.SESSION_ATTRIBUTE, user);
+        this.principalSizes.put(session, user.serializedSize());
+    }
+
+    /**
+     * Remove the logged-in user from a session.
+     *
+     * @param session the Vaadin session, locked by the caller
+     */
+    public void logout(final VaadinSession session) {
+        session.setAttribute(SessionUser.SESSION_ATTRIBUTE, null);
+        this.principalSizes.remove(session);
+    }
+
+    /**
+     * Get the number of logged-in sessions and the memory their users take.
+     *
+     * @return the session statistics
+     */
+    public SessionStatisticsDto getStatistics() {
+        final var sizes = Map.copyOf(this.principalSizes).values();
+        final long total = sizes.stream().mapToLong(Integer::longValue).sum();
+        return new SessionStatisticsDto(sizes.size(), total, sizes.isEmpty() ? 0 : total / sizes.size());
+    }
+}
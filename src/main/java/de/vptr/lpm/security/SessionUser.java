@@ -0,0 +1,123 @@
+package de.vptr.lpm.security;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.vaadin.flow.server.VaadinSession;
+
+import de.vptr.lpm.dto.RoleDto;
+import de.vptr.lpm.dto.UserDto;
+import de.vptr.lpm.entity.User;
+
+/**
+ * The logged-in user as kept in the Vaadin session. It holds only what views
+ * need on every request; roles are reduced to their names. Profile details
+ * such as email or timestamps are loaded when a view needs them.
+ *
+ * @param id          user ID
+ * @param username    unique username
+ * @param displayName display name shown in UI
+ * @param roles       names of the user's roles
+ */
+public record SessionUser(
+        Long id,
+        String username,
+        String displayName,
+        Set<String> roles) implements Serializable {
+
+    /**
+     * Name of the Vaadin session attribute holding the logged-in user.
+     */
+    public static final String SESSION_ATTRIBUTE = "user";
+
+    /**
+     * Name of the built-in administrator role.
+     */
+    public static final String ADMIN_ROLE = "ADMIN";
+
+    /**
+     * Creates a session user with an immutable copy of the role names.
+     *
+     * @param id          user ID
+     * @param username    unique username
+     * @param displayName display name shown in UI
+     * @param roles       names of the user's roles
+     */
+    public SessionUser {
+        roles = Set.copyOf(roles);
+    }
+
+    /**
+     * Creates a session user from a user entity with initialized roles.
+     *
+     * @param user the user entity
+     * @return the compact session user
+     */
+    public static SessionUser fromEntity(final User user) {
+        return new SessionUser(user.id, user.username, user.displayName,
+                user.roles.stream().map(role -> role.name).collect(Collectors.toSet()));
+    }
+
+    /**
+     * Creates a session user from a full user DTO.
+     *
+     * @param user the user DTO
+     * @return the compact session user
+     */
+    public static SessionUser fromDto(final UserDto user) {
+        return new SessionUser(user.id(), user.username(), user.displayName(),
+                user.roles().stream().map(RoleDto::name).collect(Collectors.toSet()));
+    }
+
+    /**
+     * Get the logged-in user of the current Vaadin session.
+     *
+     * @return the user, or null if nobody is logged in or there is no session
+     */
+    public static SessionUser current() {
+        final var session = VaadinSession.getCurrent();
+        return session != null && session.getAttribute(SESSION_ATTRIBUTE) instanceof final SessionUser user
+                ? user
+                : null;
+    }
+
+    /**
+     * Checks whether the user has at least one of the given roles.
+     *
+     * @param roleNames one or more role names
+     * @return true if the user has any of the roles
+     */
+    public boolean hasRole(final String... roleNames) {
+        return Arrays.stream(roleNames).anyMatch(this.roles::contains);
+    }
+
+    /**
+     * Checks whether the user is an administrator.
+     *
+     * @return true if the user has the ADMIN role
+     */
+    public boolean isAdmin() {
+        return this.hasRole(ADMIN_ROLE);
+    }
+
+    /**
+     * Measures how many bytes this user takes when the session is serialized.
+     *
+     * @return the serialized size in bytes
+     */
+    public int serializedSize() {
+        final var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(this);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.size();
+    }
+}
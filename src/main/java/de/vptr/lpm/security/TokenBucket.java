@@ -0,0 +1,50 @@
+package de.vptr.lpm.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free token bucket. A bucket starts full, each attempt takes one token
+ * and tokens are refilled continuously at a fixed rate up to the capacity.
+ */
+final class TokenBucket {
+
+    private final int capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param capacity      maximum number of tokens, i.e. the allowed burst
+     * @param nanosPerToken time it takes to refill one token
+     * @param nowNanos      the current time from {@link System#nanoTime()}
+     */
+    TokenBucket(final int capacity, final long nanosPerToken, final long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = 1.0 / nanosPerToken;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Takes one token if available.
+     *
+     * @param nowNanos the current time from {@link System#nanoTime()}
+     * @return true if a token was taken, false if the bucket is empty
+     */
+    boolean tryConsume(final long nowNanos) {
+        while (true) {
+            final var current = this.state.get();
+            final var elapsed = Math.max(0, nowNanos - current.updatedAt());
+            final var tokens = Math.min(this.capacity, current.tokens() + elapsed * this.tokensPerNano);
+            if (tokens < 1) {
+                return false;
+            }
+            if (this.state.compareAndSet(current, new State(tokens - 1, nowNanos))) {
+                return true;
+            }
+        }
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+}
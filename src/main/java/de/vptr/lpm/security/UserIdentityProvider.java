@@ -1,11 +1,15 @@
 package de.vptr.lpm.security;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import de.vptr.lpm.entity.User;
+import de.vptr.lpm.enums.UserStatus;
+import de.vptr.lpm.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.security.AuthenticationFailedException;
 import io.quarkus.security.identity.AuthenticationRequestContext;
 import io.quarkus.security.identity.IdentityProvider;
@@ -13,11 +17,11 @@ import io.quarkus.security.identity.SecurityIdentity;
 import io.quarkus.security.identity.request.UsernamePasswordAuthenticationRequest;
 import io.quarkus.security.runtime.QuarkusPrincipal;
 import io.quarkus.security.runtime.QuarkusSecurityIdentity;
+import io.quarkus.vertx.http.runtime.security.HttpSecurityUtils;
 import io.smallrye.mutiny.Uni;
+import io.vertx.ext.web.RoutingContext;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
-import jakarta.persistence.EntityManager;
-import jakarta.transaction.Transactional;
 
 /**
  * Quarkus identity provider for username/password authentication.
@@ -30,7 +34,16 @@ public class UserIdentityProvider implements IdentityProvider<UsernamePasswordAu
     private static final Logger LOG = LoggerFactory.getLogger(UserIdentityProvider.class);
 
     @Inject
-    EntityManager entityManager;
+    UserRepository userRepository;
+
+    @Inject
+    PasswordHashingService passwordHashingService;
+
+    @Inject
+    CredentialCache credentialCache;
+
+    @Inject
+    LoginThrottle loginThrottle;
 
     /**
      * Returns the type of authentication request this provider handles.
@@ -49,22 +62,56 @@ public class UserIdentityProvider implements IdentityProvider<UsernamePasswordAu
         final String username = request.getUsername();
         final String password = new String(request.getPassword().getPassword());
 
-        return Uni.createFrom().item(() -> this.authenticateUser(username, password));
+        final var cached = this.credentialCache.get(username, password);
+        if (cached.isPresent()) {
+            // A cache hit is one HMAC and a map lookup, cheap enough for the event loop
+            return Uni.createFrom().item(this.createIdentity(cached.get().username(), cached.get().roles()));
+        }
+
+        final String clientAddress = clientAddress(request);
+
+        // Database access and key derivation block, so they must not run on the event loop
+        return context.runBlocking(() -> this.authenticateUser(username, password, clientAddress));
     }
 
-    @Transactional
-    SecurityIdentity authenticateUser(final String username, final String password) {
-        final User user = User.find("username = ?1", username).firstResult();
+    SecurityIdentity authenticateUser(final String username, final String password, final String clientAddress) {
+        if (!this.loginThrottle.tryAcquire(username, clientAddress)) {
+            throw new AuthenticationFailedException("Too many login attempts");
+        }
+
+        final long generation = this.credentialCache.generation();
+        // Only the lookup holds a connection; waiting for a hashing thread must not pin one
+        final User user = QuarkusTransaction.requiringNew()
+                .call(() -> this.userRepository.findByUsernameWithRoles(username).orElse(null));
+        this.loginThrottle.releaseExpiredLockout(user);
 
-        if (user == null || !PasswordUtil.verifyPassword(password, user.passwordHash)) {
+        if (user == null || user.status != UserStatus.ACTIVE
+                || !this.passwordHashingService.verifyAndUpgrade(user, password)) {
+            this.loginThrottle.recordFailure(username);
             throw new AuthenticationFailedException("Invalid credentials");
         }
 
+        this.loginThrottle.recordSuccess(username);
         LOG.debug("Authenticated user: {}", username);
 
+        final var roles = user.roles.stream().map(r -> r.name).collect(Collectors.toUnmodifiableSet());
+        this.credentialCache.put(username, password, generation,
+                new CredentialCache.VerifiedCredential(user.id, user.username, roles));
+        return this.createIdentity(user.username, roles);
+    }
+
+    private static String clientAddress(final UsernamePasswordAuthenticationRequest request) {
+        final RoutingContext routingContext = HttpSecurityUtils.getRoutingContextAttribute(request);
+        if (routingContext == null || routingContext.request().remoteAddress() == null) {
+            return null;
+        }
+        return routingContext.request().remoteAddress().hostAddress();
+    }
+
+    private SecurityIdentity createIdentity(final String username, final Set<String> roles) {
         return QuarkusSecurityIdentity.builder()
                 .setPrincipal(new QuarkusPrincipal(username))
-                .addRoles(user.roles.stream().map(r -> r.name).collect(Collectors.toSet()))
+                .addRoles(roles)
                 .build();
     }
 }
@@ -0,0 +1,131 @@
+package de.vptr.lpm.service;
+
+import java.time.YearMonth;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.vptr.lpm.repository.ActivityLogRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+
+/**
+ * Maintains the monthly partitions of the activity log: creates partitions
+ * ahead of time and drops those older than the retention window, optionally
+ * rolling their entries up into daily counts first. Entries that landed in the
+ * default partition are moved into their month's partition when it is created
+ * and expire with the same retention.
+ */
+@ApplicationScoped
+public class ActivityLogMaintenanceService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ActivityLogMaintenanceService.class);
+
+    @ConfigProperty(name = "lpm.activity-log.partitions-ahead", defaultValue = "2")
+    int partitionsAhead;
+
+    @ConfigProperty(name = "lpm.activity-log.retention-months", defaultValue = "24")
+    int retentionMonths;
+
+    @ConfigProperty(name = "lpm.activity-log.rollup-enabled", defaultValue = "true")
+    boolean rollupEnabled;
+
+    @Inject
+    ActivityLogRepository repository;
+
+    void onStart(@Observes final StartupEvent ev) {
+        this.createPartitions();
+    }
+
+    @Scheduled(cron = "{lpm.activity-log.maintenance-cron}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledMaintenance() {
+        this.createPartitions();
+        this.dropExpiredPartitions();
+    }
+
+    /**
+     * Create the partitions for the current month and the configured number of
+     * months ahead.
+     */
+    public void createPartitions() {
+        final var current = YearMonth.now();
+        for (var i = 0; i <= this.partitionsAhead; i++) {
+            final var month = current.plusMonths(i);
+            final var moved = QuarkusTransaction.requiringNew().call(() -> this.repository.createPartition(month));
+            if (moved > 0) {
+                LOG.info("Moved {} activity log entries of {} out of the default partition", moved, month);
+            }
+        }
+    }
+
+    /**
+     * Drop all partitions older than the retention window, and delete expired
+     * entries from the default partition. A retention of zero or less keeps
+     * all partitions.
+     *
+     * @return number of dropped partitions
+     */
+    public int dropExpiredPartitions() {
+        if (this.retentionMonths <= 0) {
+            return 0;
+        }
+
+        final var oldestKept = YearMonth.now().minusMonths(this.retentionMonths);
+        var dropped = 0;
+        for (final var month : QuarkusTransaction.requiringNew().call(this.repository::findPartitionMonths)) {
+            if (!month.isBefore(oldestKept)) {
+                break;
+            }
+            final var result = QuarkusTransaction.requiringNew().call(() -> {
+                if (!this.repository.tryLockMaintenance()) {
+                    return DropResult.LOCKED;
+                }
+                // The month list was read before the lock, another node may have dropped it since
+                if (!this.repository.partitionExists(month)) {
+                    return DropResult.GONE;
+                }
+                if (this.rollupEnabled) {
+                    final var rows = this.repository.rollUpPartition(month);
+                    LOG.info("Rolled up activity log {} into {} daily rows", month, rows);
+                }
+                this.repository.dropPartition(month);
+                return DropResult.DROPPED;
+            });
+            if (result == DropResult.LOCKED) {
+                LOG.info("Activity log maintenance is running on another node, skipping");
+                break;
+            }
+            if (result == DropResult.GONE) {
+                continue;
+            }
+            LOG.info("Dropped activity log partition {}", month);
+            dropped++;
+        }
+        this.expireDefaultPartition(oldestKept);
+        return dropped;
+    }
+
+    private void expireDefaultPartition(final YearMonth oldestKept) {
+        final int deleted = QuarkusTransaction.requiringNew().call(() -> {
+            if (!this.repository.tryLockMaintenance()) {
+                return 0;
+            }
+            if (this.rollupEnabled) {
+                this.repository.rollUpDefaultBefore(oldestKept);
+            }
+            return this.repository.deleteDefaultBefore(oldestKept);
+        });
+        if (deleted > 0) {
+            LOG.info("Expired {} activity log entries from the default partition", deleted);
+        }
+    }
+
+    private enum DropResult {
+        LOCKED, GONE, DROPPED
+    }
+}
@@ -1,13 +1,21 @@
 package de.vptr.lpm.service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import de.vptr.lpm.audit.ActivityDetails;
+import de.vptr.lpm.dto.ActivityCursor;
 import de.vptr.lpm.dto.ActivityLogDto;
+import de.vptr.lpm.dto.ActivityLogEntryDto;
 import de.vptr.lpm.entity.ActivityLog;
 import de.vptr.lpm.repository.ActivityLogRepository;
 import de.vptr.lpm.repository.UserRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -24,18 +32,51 @@ public class ActivityLogService {
     @Inject
     UserRepository userRepository;
 
+    @Inject
+    ActivityLogWriter writer;
+
+    @Inject
+    UserDirectoryService userDirectory;
+
+    @ConfigProperty(name = "lpm.activity-log.async", defaultValue = "true")
+    boolean async;
+
+    /**
+     * Log an activity/action. The entry is written asynchronously after the
+     * caller's transaction commits, unless asynchronous writing is disabled.
+     * Use {@link #logActivitySync} when the entry must be readable right away.
+     *
+     * @param entityType the type of entity modified
+     * @param entityId   the ID of the entity modified
+     * @param action     the action performed
+     * @param userId     the ID of the user who performed the action
+     * @param details    additional details as a JSON object, or free text
+     *                   that is stored as a note
+     */
+    public void logActivity(
+            final String entityType,
+            final Long entityId,
+            final String action,
+            final Long userId,
+            final String details) {
+        this.write(List.of(new ActivityLogEntryDto(entityType, entityId, action, userId,
+                ActivityDetails.fromText(details), LocalDateTime.now())));
+    }
+
     /**
-     * Log an activity/action.
+     * Log an activity/action within the caller's transaction, so it can be
+     * read back immediately.
      *
      * @param entityType the type of entity modified
      * @param entityId   the ID of the entity modified
      * @param action     the action performed
      * @param userId     the ID of the user who performed the action
-     * @param details    additional details about the action
+     * @param details    additional details as a JSON object, or free text
+     *                   that is stored as a note
      * @return the created activity log DTO
      */
     @Transactional
-    public ActivityLogDto logActivity(
+    public ActivityLogDto logActivitySync(
             final String entityType,
             final Long entityId,
             final String action,
@@ -45,7 +86,7 @@ public class ActivityLogService {
         log.entityType = entityType;
         log.entityId = entityId;
         log.action = action;
-        log.details = details;
+        log.details = ActivityDetails.fromText(details);
 
         if (userId != null) {
             final var user = this.userRepository.findById(userId);
@@ -55,7 +96,62 @@ public class ActivityLogService {
         }
 
         this.repository.persist(log);
-        return ActivityLogDto.fromEntity(log);
+        return this.toDto(log);
+    }
+
+    /**
+     * Log the same action for many entities at once. Written like
+     * {@link #logActivity}, as a single batch.
+     *
+     * @param entityType the type of entity modified
+     * @param entityIds  the IDs of the entities modified
+     * @param action     the action performed
+     * @param userId     the ID of the user who performed the action
+     * @param details    additional details as a JSON object, or free text
+     *                   that is stored as a note
+     */
+    public void logActivities(
+            final String entityType,
+            final Collection<Long> entityIds,
+            final String action,
+            final Long userId,
+            final String details) {
+        final var now = LocalDateTime.now();
+        final var json = ActivityDetails.fromText(details);
+        this.write(entityIds.stream()
+                .map(entityId -> new ActivityLogEntryDto(entityType, entityId, action, userId, json, now))
+                .collect(Collectors.toList()));
+    }
+
+    /**
+     * Log prepared entries as a single batch, written like
+     * {@link #logActivity}.
+     *
+     * @param entries the entries to write
+     */
+    public void logEntries(final List<ActivityLogEntryDto> entries) {
+        this.write(entries);
+    }
+
+    /**
+     * Write entries captured from entity changes by the change capture
+     * listener. It calls this twice per transaction: right before the commit
+     * and after a successful commit. Synchronous writing inserts the entries
+     * in the committing transaction, asynchronous writing queues them once the
+     * commit succeeded.
+     *
+     * @param entries   the captured entries
+     * @param committed true if the transaction has already committed
+     */
+    public void logCapturedChanges(final List<ActivityLogEntryDto> entries, final boolean committed) {
+        if (entries.isEmpty() || committed != this.async) {
+            return;
+        }
+        if (committed) {
+            this.writer.submit(entries);
+        } else {
+            this.repository.insertAll(entries);
+        }
     }
 
     /**
@@ -66,7 +162,7 @@ public class ActivityLogService {
      */
     public Optional<ActivityLogDto> findById(final Long id) {
         return this.repository.findByIdOptional(id)
-                .map(ActivityLogDto::fromEntity);
+                .map(this::toDto);
     }
 
     /**
@@ -77,9 +173,7 @@ public class ActivityLogService {
      * @return list of activity logs
      */
     public List<ActivityLogDto> findByEntity(final String entityType, final Long entityId) {
-        return this.repository.findByEntity(entityType, entityId).stream()
-                .map(ActivityLogDto::fromEntity)
-                .collect(Collectors.toList());
+        return this.toDtos(this.repository.findByEntity(entityType, entityId));
     }
 
     /**
@@ -89,9 +183,103 @@ public class ActivityLogService {
      * @return list of activity logs
      */
     public List<ActivityLogDto> findByUser(final Long userId) {
-        return this.repository.findByUser(userId).stream()
-                .map(ActivityLogDto::fromEntity)
-                .collect(Collectors.toList());
+        return this.toDtos(this.repository.findByUser(userId));
+    }
+
+    /**
+     * Get a page of activity logs for an entity that are older than a cursor.
+     *
+     * @param entityType the entity type
+     * @param entityId   the entity ID
+     * @param before     the cursor to page from, or null for the newest entries
+     * @param limit      maximum number of entries to return
+     * @return list of activity logs, newest first
+     */
+    public List<ActivityLogDto> findByEntityBefore(
+            final String entityType,
+            final Long entityId,
+            final ActivityCursor before,
+            final int limit) {
+        return this.toDtos(this.repository.findPageByEntity(entityType, entityId, before, true, limit));
+    }
+
+    /**
+     * Get a page of activity logs for an entity that are newer than a cursor.
+     *
+     * @param entityType the entity type
+     * @param entityId   the entity ID
+     * @param after      the cursor to page from
+     * @param limit      maximum number of entries to return
+     * @return list of activity logs, newest first
+     */
+    public List<ActivityLogDto> findByEntityAfter(
+            final String entityType,
+            final Long entityId,
+            final ActivityCursor after,
+            final int limit) {
+        return this.toDtos(this.repository.findPageByEntity(entityType, entityId, after, false, limit));
+    }
+
+    /**
+     * Get a page of activity logs by a user that are older than a cursor.
+     *
+     * @param userId the user ID
+     * @param before the cursor to page from, or null for the newest entries
+     * @param limit  maximum number of entries to return
+     * @return list of activity logs, newest first
+     */
+    public List<ActivityLogDto> findByUserBefore(final Long userId, final ActivityCursor before, final int limit) {
+        return this.toDtos(this.repository.findPageByUser(userId, before, true, limit));
+    }
+
+    /**
+     * Get a page of activity logs by a user that are newer than a cursor.
+     *
+     * @param userId the user ID
+     * @param after  the cursor to page from
+     * @param limit  maximum number of entries to return
+     * @return list of activity logs, newest first
+     */
+    public List<ActivityLogDto> findByUserAfter(final Long userId, final ActivityCursor after, final int limit) {
+        return this.toDtos(this.repository.findPageByUser(userId, after, false, limit));
+    }
+
+    /**
+     * Get the newest changes of an entity type where a property was changed to
+     * a value, optionally restricted to a project. Answered from the GIN index
+     * on the details column.
+     *
+     * @param entityType the entity type, e.g. "Ticket"
+     * @param property   the changed property, e.g. "assignee"
+     * @param newValue   the value after the change, e.g. a user ID
+     * @param projectId  the project ID to restrict to, or null for all projects
+     * @param limit      maximum number of entries to return
+     * @return list of activity logs, newest first
+     */
+    public List<ActivityLogDto> findChangesTo(
+            final String entityType,
+            final String property,
+            final Object newValue,
+            final Long projectId,
+            final int limit) {
+        final var contained = ActivityDetails.create()
+                .changedTo(property, newValue)
+                .project(projectId)
+                .toJson();
+        return this.repository.findDtosByDetails(entityType, contained, limit);
+    }
+
+    /**
+     * Get the newest ticket assignments to a user, optionally restricted to a
+     * project.
+     *
+     * @param userId    the assigned user ID
+     * @param projectId the project ID to restrict to, or null for all projects
+     * @param limit     maximum number of entries to return
+     * @return list of activity logs, newest first
+     */
+    public List<ActivityLogDto> findAssignmentsTo(final Long userId, final Long projectId, final int limit) {
+        return this.findChangesTo("Ticket", "assignee", userId, projectId, limit);
     }
 
     /**
@@ -104,4 +292,28 @@ public class ActivityLogService {
     public long countByEntity(final String entityType, final Long entityId) {
         return this.repository.count("entityType = ?1 and entityId = ?2", entityType, entityId);
     }
+
+    private ActivityLogDto toDto(final ActivityLog log) {
+        return this.toDtos(List.of(log)).get(0);
+    }
+
+    private List<ActivityLogDto> toDtos(final List<ActivityLog> logs) {
+        final var users = this.userDirectory.resolveAll(logs.stream()
+                .map(log -> log.user != null ? log.user.id : null)
+                .collect(Collectors.toList()));
+        return logs.stream()
+                .map(log -> ActivityLogDto.fromEntity(log, users))
+                .collect(Collectors.toList());
+    }
+
+    private void write(final List<ActivityLogEntryDto> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        if (this.async) {
+            this.writer.submit(entries);
+        } else {
+            QuarkusTransaction.joiningExisting().run(() -> this.repository.insertAll(entries));
+        }
+    }
 }
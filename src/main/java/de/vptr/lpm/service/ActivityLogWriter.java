@@ -0,0 +1,195 @@
+package de.vptr.lpm.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.vptr.lpm.dto.ActivityLogEntryDto;
+import de.vptr.lpm.repository.ActivityLogRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Writes activity log entries in the background. Entries are queued once the
+ * caller's transaction commits and a single writer thread inserts them in
+ * batches. When the queue is full, callers block until the writer has made
+ * room, so audit entries are never dropped.
+ */
+@ApplicationScoped
+public class ActivityLogWriter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ActivityLogWriter.class);
+
+    /**
+     * How long the writer waits for new entries before checking for shutdown.
+     */
+    private static final long POLL_MILLIS = 500;
+
+    @ConfigProperty(name = "lpm.activity-log.queue-capacity", defaultValue = "10000")
+    int queueCapacity;
+
+    @ConfigProperty(name = "lpm.activity-log.batch-size", defaultValue = "500")
+    int batchSize;
+
+    @ConfigProperty(name = "lpm.activity-log.shutdown-timeout", defaultValue = "PT10S")
+    Duration shutdownTimeout;
+
+    @Inject
+    ActivityLogRepository repository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private BlockingQueue<ActivityLogEntryDto> queue;
+    private Thread worker;
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        this.queue = new ArrayBlockingQueue<>(this.queueCapacity);
+        this.running = true;
+        this.worker = Thread.ofPlatform()
+                .name("activity-log-writer")
+                .daemon()
+                .start(this::drain);
+    }
+
+    /**
+     * Submit entries for writing. Inside a transaction the entries are only
+     * queued after a successful commit, so rolled back actions are not logged.
+     *
+     * @param entries the entries to write
+     */
+    public void submit(final Collection<ActivityLogEntryDto> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        final var status = this.transactionRegistry.getTransactionStatus();
+        if (status == Status.STATUS_NO_TRANSACTION) {
+            this.enqueue(entries);
+            return;
+        }
+        if (status != Status.STATUS_ACTIVE) {
+            // The transaction is already rolling back, so the action did not happen
+            return;
+        }
+        this.transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nothing to do before the commit
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    ActivityLogWriter.this.enqueue(entries);
+                }
+            }
+        });
+    }
+
+    /**
+     * Write all queued entries on the calling thread.
+     */
+    public void flush() {
+        final var batch = new ArrayList<ActivityLogEntryDto>(this.batchSize);
+        while (this.queue.drainTo(batch, this.batchSize) > 0) {
+            this.write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Stop the background writer and write all remaining entries. Entries
+     * submitted afterwards are written synchronously.
+     */
+    public void shutdown() {
+        this.running = false;
+        try {
+            this.worker.join(this.shutdownTimeout.toMillis());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.flush();
+    }
+
+    /**
+     * Get the number of entries waiting to be written.
+     *
+     * @return the queue size
+     */
+    public int getPendingCount() {
+        return this.queue.size();
+    }
+
+    private void enqueue(final Collection<ActivityLogEntryDto> entries) {
+        final var pending = List.copyOf(entries);
+        if (!this.running) {
+            this.write(pending);
+            return;
+        }
+        for (var i = 0; i < pending.size(); i++) {
+            final var entry = pending.get(i);
+            if (this.queue.offer(entry)) {
+                continue;
+            }
+            LOG.debug("Activity log queue full, waiting for the writer");
+            try {
+                this.queue.put(entry);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                this.write(pending.subList(i, pending.size()));
+                return;
+            }
+        }
+    }
+
+    private void drain() {
+        final var batch = new ArrayList<ActivityLogEntryDto>(this.batchSize);
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                final var first = this.queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                this.queue.drainTo(batch, this.batchSize - 1);
+                this.write(batch);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(final List<ActivityLogEntryDto> batch) {
+        try {
+            QuarkusTransaction.requiringNew().run(() -> this.repository.insertAll(batch));
+        } catch (final RuntimeException e) {
+            // One bad entry (e.g. a deleted user) must not discard the whole batch
+            LOG.warn("Failed to write {} activity log entries as batch, retrying one by one", batch.size(), e);
+            for (final var entry : batch) {
+                try {
+                    QuarkusTransaction.requiringNew().run(() -> this.repository.insertAll(List.of(entry)));
+                } catch (final RuntimeException entryError) {
+                    LOG.error("Dropping activity log entry {}", entry, entryError);
+                }
+            }
+        }
+    }
+}
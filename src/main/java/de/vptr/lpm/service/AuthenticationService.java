@@ -5,10 +5,14 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import de.vptr.lpm.dto.UserDto;
 import de.vptr.lpm.entity.User;
-import de.vptr.lpm.security.PasswordUtil;
+import de.vptr.lpm.enums.UserStatus;
+import de.vptr.lpm.repository.UserRepository;
+import de.vptr.lpm.security.LoginThrottle;
+import de.vptr.lpm.security.PasswordHashingService;
+import de.vptr.lpm.security.SessionUser;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
 import jakarta.servlet.http.HttpServletRequest;
 
 /**
@@ -19,32 +23,54 @@ import jakarta.servlet.http.HttpServletRequest;
 public class AuthenticationService {
 
     private static final Logger LOG = LoggerFactory.getLogger(AuthenticationService.class);
-    private static final String SESSION_USER_ATTR = "user";
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    PasswordHashingService passwordHashingService;
+
+    @Inject
+    LoginThrottle loginThrottle;
 
     /**
-     * Authenticate a user by username and password.
+     * Authenticate a user by username and password. Attempts are throttled per
+     * username and client address before the user is looked up.
      *
-     * @param username the username
-     * @param password the plaintext password
-     * @return Optional containing UserDto if authentication succeeds
+     * @param username      the username
+     * @param password      the plaintext password
+     * @param clientAddress the address of the client, or null if unknown
+     * @return Optional containing the session user if authentication succeeds
+     * @throws IllegalStateException if there were too many attempts
      */
-    public Optional<UserDto> authenticate(final String username, final String password) {
-        return User.find("username", username)
-                .singleResultOptional()
-                .filter(user -> this.validatePassword((User) user, password))
-                .map(user -> UserDto.fromEntity((User) user));
+    public Optional<SessionUser> authenticate(final String username, final String password,
+            final String clientAddress) {
+        if (!this.loginThrottle.tryAcquire(username, clientAddress)) {
+            throw new IllegalStateException("Too many login attempts, please try again later");
+        }
+        final Optional<SessionUser> result = this.userRepository.findByUsernameWithRoles(username)
+                .map(this.loginThrottle::releaseExpiredLockout)
+                .filter(user -> user.status == UserStatus.ACTIVE)
+                .filter(user -> this.validatePassword(user, password))
+                .map(SessionUser::fromEntity);
+        if (result.isPresent()) {
+            this.loginThrottle.recordSuccess(username);
+        } else {
+            this.loginThrottle.recordFailure(username);
+        }
+        return result;
     }
 
     /**
      * Get the currently authenticated user from the session.
      *
      * @param request the HTTP request
-     * @return Optional containing current UserDto
+     * @return Optional containing the current session user
      */
-    public Optional<UserDto> getCurrentUser(final HttpServletRequest request) {
+    public Optional<SessionUser> getCurrentUser(final HttpServletRequest request) {
         final var session = request.getSession(false);
         if (session != null) {
-            final var user = (UserDto) session.getAttribute(SESSION_USER_ATTR);
+            final var user = (SessionUser) session.getAttribute(SessionUser.SESSION_ATTRIBUTE);
             if (user != null) {
                 return Optional.of(user);
             }
@@ -56,14 +82,14 @@ public class AuthenticationService {
      * Get the currently authenticated user (without request context).
      * This is a fallback that tries to access the session from Vaadin context.
      *
-     * @return Optional containing current UserDto
+     * @return Optional containing the current session user
      */
-    public Optional<UserDto> getCurrentUser() {
+    public Optional<SessionUser> getCurrentUser() {
         try {
             // Try to get from Vaadin session if available
             final var vaadinSession = com.vaadin.flow.server.VaadinSession.getCurrent();
             if (vaadinSession != null) {
-                final var user = (UserDto) vaadinSession.getAttribute(SESSION_USER_ATTR);
+                final var user = (SessionUser) vaadinSession.getAttribute(SessionUser.SESSION_ATTRIBUTE);
                 if (user != null) {
                     return Optional.of(user);
                 }
@@ -75,7 +101,8 @@ public class AuthenticationService {
     }
 
     /**
-     * Validate a user's password against the stored hash.
+     * Validate a user's password against the stored hash. Hashes with outdated
+     * parameters are replaced after a successful check.
      *
      * @param user          the user entity
      * @param plainPassword the plaintext password to validate
@@ -83,7 +110,10 @@ public class AuthenticationService {
      */
     private boolean validatePassword(final User user, final String plainPassword) {
         try {
-            return PasswordUtil.verifyPassword(plainPassword, user.passwordHash);
+            return this.passwordHashingService.verifyAndUpgrade(user, plainPassword);
+        } catch (final IllegalStateException e) {
+            // Hashing capacity exhausted; let the caller show a retry message
+            throw e;
         } catch (final Exception e) {
             LOG.warn("Password validation failed for user: {}", user.username, e);
             return false;
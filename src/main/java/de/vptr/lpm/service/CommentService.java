@@ -5,6 +5,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 
 import de.vptr.lpm.dto.CommentDto;
+import de.vptr.lpm.dto.CommentPageDto;
 import de.vptr.lpm.entity.Comment;
 import de.vptr.lpm.repository.CommentRepository;
 import de.vptr.lpm.repository.TicketRepository;
@@ -29,7 +30,7 @@ public class CommentService {
     UserRepository userRepository;
 
     @Inject
-    ActivityLogService activityLogService;
+    UserDirectoryService userDirectory;
 
     /**
      * Create a new comment on a ticket.
@@ -60,11 +61,9 @@ public class CommentService {
         comment.content = content;
 
         this.repository.persist(comment);
+        this.ticketRepository.incrementCommentCount(ticketId, comment.getCreatedAt());
 
-        // Log activity
-        this.activityLogService.logActivity("Comment", comment.id, "CREATE", authorId, null);
-
-        return CommentDto.fromEntity(comment);
+        return this.toDto(comment);
     }
 
     /**
@@ -75,7 +74,7 @@ public class CommentService {
      */
     public Optional<CommentDto> findById(final Long id) {
         return this.repository.findByIdOptional(id)
-                .map(CommentDto::fromEntity);
+                .map(this::toDto);
     }
 
     /**
@@ -85,9 +84,33 @@ public class CommentService {
      * @return list of comments
      */
     public List<CommentDto> findByTicket(final Long ticketId) {
-        return this.repository.findByTicket(ticketId).stream()
-                .map(CommentDto::fromEntity)
-                .collect(Collectors.toList());
+        return this.toDtos(this.repository.findByTicket(ticketId));
+    }
+
+    /**
+     * Get a page of comments on a ticket, newest first. The first page is
+     * loaded with a null {@code before}; further pages are loaded with the
+     * oldest comment of the previous page.
+     *
+     * @param ticketId the ticket ID
+     * @param before   the oldest comment already loaded, or null for the
+     *                 newest comments
+     * @param limit    maximum number of comments to return
+     * @return the page of comments with the total comment count
+     */
+    public CommentPageDto findPageByTicket(final Long ticketId, final CommentDto before, final int limit) {
+        // One extra row tells whether older comments exist without a second query
+        final var comments = this.repository.findPageByTicket(
+                ticketId,
+                before != null ? before.createdAt() : null,
+                before != null ? before.id() : null,
+                limit + 1);
+        final var hasOlder = comments.size() > limit;
+
+        return new CommentPageDto(
+                this.toDtos(hasOlder ? comments.subList(0, limit) : comments),
+                this.countByTicket(ticketId),
+                hasOlder);
     }
 
     /**
@@ -97,9 +120,7 @@ public class CommentService {
      * @return list of comments
      */
     public List<CommentDto> findByAuthor(final Long userId) {
-        return this.repository.findByAuthor(userId).stream()
-                .map(CommentDto::fromEntity)
-                .collect(Collectors.toList());
+        return this.toDtos(this.repository.findByAuthor(userId));
     }
 
     /**
@@ -119,7 +140,7 @@ public class CommentService {
         comment.content = content;
         this.repository.persist(comment);
 
-        return CommentDto.fromEntity(comment);
+        return this.toDto(comment);
     }
 
     /**
@@ -129,16 +150,39 @@ public class CommentService {
      */
     @Transactional
     public void deleteComment(final Long id) {
-        this.repository.deleteById(id);
+        final var comment = this.repository.findById(id);
+        if (comment == null) {
+            return;
+        }
+
+        final var ticketId = comment.ticket.id;
+        this.repository.delete(comment);
+        // The counter update reads the remaining comments, so the delete must be visible
+        this.repository.flush();
+        this.ticketRepository.decrementCommentCount(ticketId);
     }
 
     /**
-     * Count comments on a ticket.
+     * Count comments on a ticket. Reads the ticket's maintained counter instead
+     * of counting the comments.
      *
      * @param ticketId the ticket ID
      * @return total count of comments
      */
     public long countByTicket(final Long ticketId) {
-        return this.repository.count("ticket.id = ?1", ticketId);
+        return this.ticketRepository.findCommentCount(ticketId);
+    }
+
+    private CommentDto toDto(final Comment comment) {
+        return this.toDtos(List.of(comment)).get(0);
+    }
+
+    private List<CommentDto> toDtos(final List<Comment> comments) {
+        final var users = this.userDirectory.resolveAll(comments.stream()
+                .map(comment -> comment.author != null ? comment.author.id : null)
+                .collect(Collectors.toList()));
+        return comments.stream()
+                .map(comment -> CommentDto.fromEntity(comment, users))
+                .collect(Collectors.toList());
     }
 }
@@ -0,0 +1,58 @@
+package de.vptr.lpm.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+
+import de.vptr.lpm.dto.CacheStatisticsDto;
+import de.vptr.lpm.repository.CacheRegions;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Service for the second-level cache of lookup entities (statuses, priorities,
+ * types and roles).
+ */
+@ApplicationScoped
+public class LookupCacheService {
+
+    @Inject
+    SessionFactory sessionFactory;
+
+    /**
+     * Evict all cached instances of a lookup entity and all cached lookup
+     * queries. Hibernate already keeps the regions consistent for changes made
+     * through the entity manager; this covers changes it cannot track, such as
+     * native SQL or direct database edits.
+     *
+     * @param entityClass the lookup entity class
+     */
+    public void evict(final Class<?> entityClass) {
+        final var cache = this.sessionFactory.getCache();
+        cache.evictEntityData(entityClass);
+        cache.evictQueryRegion(CacheRegions.LOOKUP_QUERIES);
+    }
+
+    /**
+     * Get hit and miss statistics for all second-level cache regions. Counts
+     * are only collected when Hibernate statistics are enabled.
+     *
+     * @return list of region statistics, ordered by region name
+     */
+    public List<CacheStatisticsDto> getStatistics() {
+        final var statistics = this.sessionFactory.getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> {
+                    final var regionStatistics = statistics.getCacheRegionStatistics(region);
+                    return regionStatistics == null ? null
+                            : new CacheStatisticsDto(region, regionStatistics.getHitCount(),
+                                    regionStatistics.getMissCount(), regionStatistics.getPutCount());
+                })
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
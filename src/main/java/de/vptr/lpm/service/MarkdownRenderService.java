@@ -0,0 +1,115 @@
+package de.vptr.lpm.service;
+
+import java.time.LocalDateTime;
+
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import de.vptr.lpm.dto.CacheStatisticsDto;
+import de.vptr.lpm.dto.CommentDto;
+import de.vptr.lpm.dto.TicketDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Renders comment and ticket description Markdown to sanitized HTML. Raw HTML
+ * in the source is escaped and unsafe link targets are removed, so the output
+ * can be shown as-is. Rendered HTML is cached by entity and last update time;
+ * an edit changes the key, so stale entries are never served and simply age
+ * out of the cache.
+ */
+@ApplicationScoped
+public class MarkdownRenderService {
+
+    private static final String CACHE_NAME = "markdown-html";
+
+    private final Parser parser = Parser.builder().build();
+
+    private final HtmlRenderer renderer = HtmlRenderer.builder()
+            .escapeHtml(true)
+            .sanitizeUrls(true)
+            .softbreak("<br>")
+            .build();
+
+    @ConfigProperty(name = "lpm.markdown.cache-max-weight", defaultValue = "8000000")
+    long cacheMaxWeight;
+
+    @ConfigProperty(name = "lpm.markdown.max-cached-length", defaultValue = "100000")
+    int maxCachedLength;
+
+    private Cache<RenderKey, String> cache;
+
+    @PostConstruct
+    void init() {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(this.cacheMaxWeight)
+                .weigher((final RenderKey key, final String html) -> html.length())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Render the content of a comment.
+     *
+     * @param comment the comment
+     * @return sanitized HTML with a single root element
+     */
+    public String renderComment(final CommentDto comment) {
+        return this.renderCached("Comment", comment.id(), comment.updatedAt(), comment.content());
+    }
+
+    /**
+     * Render the description of a ticket.
+     *
+     * @param ticket the ticket
+     * @return sanitized HTML with a single root element
+     */
+    public String renderDescription(final TicketDto ticket) {
+        return this.renderCached("Ticket", ticket.id(), ticket.updatedAt(), ticket.description());
+    }
+
+    /**
+     * Render Markdown without caching.
+     *
+     * @param markdown the Markdown source, may be null
+     * @return sanitized HTML with a single root element
+     */
+    public String render(final String markdown) {
+        if (markdown == null || markdown.isBlank()) {
+            return "<div></div>";
+        }
+        return "<div>" + this.renderer.render(this.parser.parse(markdown)) + "</div>";
+    }
+
+    /**
+     * Get hit and miss statistics of the rendered HTML cache.
+     *
+     * @return the cache statistics
+     */
+    public CacheStatisticsDto getStatistics() {
+        final var stats = this.cache.stats();
+        return new CacheStatisticsDto(CACHE_NAME, stats.hitCount(), stats.missCount(), stats.loadSuccessCount());
+    }
+
+    /**
+     * Discard all cached HTML.
+     */
+    public void invalidateAll() {
+        this.cache.invalidateAll();
+    }
+
+    private String renderCached(final String entityType, final Long id, final LocalDateTime updatedAt,
+            final String markdown) {
+        if (id == null || updatedAt == null || markdown == null || markdown.length() > this.maxCachedLength) {
+            return this.render(markdown);
+        }
+        return this.cache.get(new RenderKey(entityType, id, updatedAt), key -> this.render(markdown));
+    }
+
+    private record RenderKey(String entityType, Long id, LocalDateTime updatedAt) {
+    }
+}
@@ -9,6 +9,7 @@ import de.vptr.lpm.entity.ProjectMember;
 import de.vptr.lpm.repository.ProjectMemberRepository;
 import de.vptr.lpm.repository.ProjectRepository;
 import de.vptr.lpm.repository.UserRepository;
+import de.vptr.lpm.security.ProjectAuthorizationService;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -28,6 +29,12 @@ public class ProjectMemberService {
     @Inject
     UserRepository userRepository;
 
+    @Inject
+    ProjectAuthorizationService authorizationService;
+
+    @Inject
+    UserDirectoryService userDirectory;
+
     /**
      * Add a member to a project.
      *
@@ -62,7 +69,8 @@ public class ProjectMemberService {
         member.role = role;
 
         this.repository.persist(member);
-        return ProjectMemberDto.fromEntity(member);
+        this.authorizationService.invalidateUser(userId);
+        return this.toDto(member);
     }
 
     /**
@@ -76,6 +84,7 @@ public class ProjectMemberService {
         final var member = this.repository.findByProjectAndUser(projectId, userId);
         if (member != null) {
             this.repository.delete(member);
+            this.authorizationService.invalidateUser(userId);
         }
     }
 
@@ -86,9 +95,7 @@ public class ProjectMemberService {
      * @return list of project members
      */
     public List<ProjectMemberDto> findByProject(final Long projectId) {
-        return this.repository.findByProject(projectId).stream()
-                .map(ProjectMemberDto::fromEntity)
-                .collect(Collectors.toList());
+        return this.toDtos(this.repository.findByProject(projectId));
     }
 
     /**
@@ -101,7 +108,7 @@ public class ProjectMemberService {
     public Optional<ProjectMemberDto> findByProjectAndUser(final Long projectId, final Long userId) {
         final var member = this.repository.findByProjectAndUser(projectId, userId);
         return Optional.ofNullable(member)
-                .map(ProjectMemberDto::fromEntity);
+                .map(this::toDto);
     }
 
     /**
@@ -124,7 +131,8 @@ public class ProjectMemberService {
 
         member.role = newRole;
         this.repository.persist(member);
-        return ProjectMemberDto.fromEntity(member);
+        this.authorizationService.invalidateUser(userId);
+        return this.toDto(member);
     }
 
     /**
@@ -136,4 +144,17 @@ public class ProjectMemberService {
     public long countMembers(final Long projectId) {
         return this.repository.count("project.id = ?1", projectId);
     }
+
+    private ProjectMemberDto toDto(final ProjectMember member) {
+        return this.toDtos(List.of(member)).get(0);
+    }
+
+    private List<ProjectMemberDto> toDtos(final List<ProjectMember> members) {
+        final var users = this.userDirectory.resolveAll(members.stream()
+                .map(member -> member.user != null ? member.user.id : null)
+                .collect(Collectors.toList()));
+        return members.stream()
+                .map(member -> ProjectMemberDto.fromEntity(member, users))
+                .collect(Collectors.toList());
+    }
 }
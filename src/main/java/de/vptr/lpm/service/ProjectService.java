@@ -8,6 +8,8 @@ import de.vptr.lpm.dto.ProjectDto;
 import de.vptr.lpm.entity.Project;
 import de.vptr.lpm.repository.ProjectRepository;
 import de.vptr.lpm.repository.UserRepository;
+import de.vptr.lpm.security.ProjectAccess;
+import de.vptr.lpm.security.ProjectAuthorizationService;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -24,6 +26,12 @@ public class ProjectService {
     @Inject
     UserRepository userRepository;
 
+    @Inject
+    ProjectAuthorizationService authorizationService;
+
+    @Inject
+    UserDirectoryService userDirectory;
+
     /**
      * Create a new project.
      *
@@ -56,7 +64,8 @@ public class ProjectService {
         project.owner = owner;
 
         this.repository.persist(project);
-        return ProjectDto.fromEntity(project);
+        this.authorizationService.invalidateUser(ownerId);
+        return this.toDto(project);
     }
 
     /**
@@ -67,7 +76,7 @@ public class ProjectService {
      */
     public Optional<ProjectDto> findById(final Long id) {
         return this.repository.findByIdOptional(id)
-                .map(ProjectDto::fromEntity);
+                .map(this::toDto);
     }
 
     /**
@@ -79,7 +88,7 @@ public class ProjectService {
     public Optional<ProjectDto> findByKey(final String projectKey) {
         final var project = this.repository.findByKey(projectKey);
         return Optional.ofNullable(project)
-                .map(ProjectDto::fromEntity);
+                .map(this::toDto);
     }
 
     /**
@@ -88,9 +97,23 @@ public class ProjectService {
      * @return list of all projects
      */
     public List<ProjectDto> listAll() {
-        return this.repository.listAll().stream()
-                .map(ProjectDto::fromEntity)
-                .collect(Collectors.toList());
+        return this.toDtos(this.repository.listAll());
+    }
+
+    /**
+     * Get the projects a user may access.
+     *
+     * @param access the user's project access
+     * @return list of accessible projects
+     */
+    public List<ProjectDto> listAccessible(final ProjectAccess access) {
+        if (access.allProjects()) {
+            return this.listAll();
+        }
+        if (access.roles().isEmpty()) {
+            return List.of();
+        }
+        return this.toDtos(this.repository.list("id in ?1", access.projectIds()));
     }
 
     /**
@@ -100,9 +123,7 @@ public class ProjectService {
      * @return list of projects owned by the user
      */
     public List<ProjectDto> findByOwner(final Long userId) {
-        return this.repository.findByOwner(userId).stream()
-                .map(ProjectDto::fromEntity)
-                .collect(Collectors.toList());
+        return this.toDtos(this.repository.findByOwner(userId));
     }
 
     /**
@@ -136,7 +157,7 @@ public class ProjectService {
         project.description = description;
 
         this.repository.persist(project);
-        return ProjectDto.fromEntity(project);
+        return this.toDto(project);
     }
 
     /**
@@ -147,5 +168,19 @@ public class ProjectService {
     @Transactional
     public void deleteProject(final Long id) {
         this.repository.deleteById(id);
+        this.authorizationService.invalidateAll();
+    }
+
+    private ProjectDto toDto(final Project project) {
+        return this.toDtos(List.of(project)).get(0);
+    }
+
+    private List<ProjectDto> toDtos(final List<Project> projects) {
+        final var users = this.userDirectory.resolveAll(projects.stream()
+                .map(project -> project.owner != null ? project.owner.id : null)
+                .collect(Collectors.toList()));
+        return projects.stream()
+                .map(project -> ProjectDto.fromEntity(project, users))
+                .collect(Collectors.toList());
     }
 }
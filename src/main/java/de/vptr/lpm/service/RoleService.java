@@ -7,6 +7,7 @@ import java.util.stream.Collectors;
 import de.vptr.lpm.dto.RoleDto;
 import de.vptr.lpm.entity.Role;
 import de.vptr.lpm.repository.RoleRepository;
+import de.vptr.lpm.security.CredentialCache;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
@@ -20,6 +21,9 @@ public class RoleService {
     @Inject
     RoleRepository roleRepository;
 
+    @Inject
+    CredentialCache credentialCache;
+
     /**
      * Finds a role by ID.
      *
@@ -48,7 +52,7 @@ public class RoleService {
      * @return list of RoleDTOs sorted by order
      */
     public List<RoleDto> listAll() {
-        return this.roleRepository.find("SELECT r FROM Role r ORDER BY r.order").stream()
+        return this.roleRepository.findAllOrdered().stream()
                 .map(RoleDto::fromEntity)
                 .collect(Collectors.toList());
     }
@@ -104,6 +108,8 @@ public class RoleService {
                     role.icon = dto.icon();
                     role.order = dto.order();
                     this.roleRepository.persist(role);
+                    // Cached logins carry role names
+                    this.credentialCache.invalidateAll();
                     return RoleDto.fromEntity(role);
                 })
                 .orElseThrow(() -> new IllegalArgumentException("Role not found with ID: " + id));
@@ -118,6 +124,7 @@ public class RoleService {
     @Transactional
     public void deleteRole(final Long id) {
         if (this.roleRepository.deleteById(id)) {
+            this.credentialCache.invalidateAll();
             return;
         }
         throw new IllegalArgumentException("Role not found with ID: " + id);
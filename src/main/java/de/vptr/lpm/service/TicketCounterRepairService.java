@@ -0,0 +1,82 @@
+package de.vptr.lpm.service;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.vptr.lpm.repository.TicketRepository;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+
+/**
+ * Recomputes the denormalized comment counters of all tickets. The counters
+ * are kept up to date by {@link CommentService}; this job corrects drift from
+ * changes made outside of it, such as manual SQL or restored backups.
+ * <p>
+ * Tickets are repaired in chunks of ascending ID, each in its own short
+ * transaction that locks the chunk's tickets before counting their comments.
+ * A comment change that commits while the chunk waits for its locks is
+ * therefore included in the recomputed counts instead of being overwritten.
+ */
+@ApplicationScoped
+public class TicketCounterRepairService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TicketCounterRepairService.class);
+
+    @ConfigProperty(name = "lpm.ticket-counters.repair-chunk-size", defaultValue = "1000")
+    int chunkSize;
+
+    @Inject
+    TicketRepository ticketRepository;
+
+    @Scheduled(cron = "{lpm.ticket-counters.repair-cron}", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void scheduledRepair() {
+        this.repairCounters();
+    }
+
+    /**
+     * Recompute the comment counters of all tickets. Stops as soon as another
+     * node is repairing a chunk at the same time.
+     *
+     * @return number of tickets whose counters were corrected
+     */
+    public int repairCounters() {
+        var repaired = 0;
+        var afterId = 0L;
+        while (true) {
+            final var chunk = this.repairChunk(afterId);
+            if (chunk == null) {
+                LOG.info("Ticket counter repair is running on another node, stopping");
+                break;
+            }
+            repaired += chunk.repaired();
+            if (chunk.size() < this.chunkSize) {
+                break;
+            }
+            afterId = chunk.lastId();
+        }
+        if (repaired > 0) {
+            LOG.warn("Repaired comment counters of {} tickets", repaired);
+        }
+        return repaired;
+    }
+
+    private Chunk repairChunk(final long afterId) {
+        return QuarkusTransaction.requiringNew().call(() -> {
+            if (!this.ticketRepository.tryLockCounterRepair()) {
+                return null;
+            }
+            final var ticketIds = this.ticketRepository.lockCommentCounterChunk(afterId, this.chunkSize);
+            if (ticketIds.isEmpty()) {
+                return new Chunk(afterId, 0, 0);
+            }
+            return new Chunk(ticketIds.get(ticketIds.size() - 1), ticketIds.size(),
+                    this.ticketRepository.repairCommentCounters(ticketIds));
+        });
+    }
+
+    private record Chunk(long lastId, int size, int repaired) {
+    }
+}
@@ -0,0 +1,211 @@
+package de.vptr.lpm.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import de.vptr.lpm.dto.CommentDto;
+import de.vptr.lpm.dto.TicketDto;
+import de.vptr.lpm.dto.TicketFilter;
+import de.vptr.lpm.enums.ExportFormat;
+import de.vptr.lpm.repository.CommentRepository;
+import de.vptr.lpm.repository.TicketRepository;
+import io.quarkus.narayana.jta.runtime.TransactionConfiguration;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Transactional;
+
+/**
+ * Service for exporting tickets. Tickets are read from a database cursor and
+ * written in chunks, so heap usage stays constant regardless of how many
+ * tickets are exported.
+ */
+@ApplicationScoped
+public class TicketExportService {
+
+    /**
+     * Number of tickets written (and whose comments are loaded) at once.
+     */
+    private static final int CHUNK_SIZE = 500;
+
+    /**
+     * Transaction timeout in seconds for an export, unless configured with
+     * {@code lpm.export.transaction-timeout}. Large exports stream for far
+     * longer than the default transaction timeout.
+     */
+    private static final int TRANSACTION_TIMEOUT = 3600;
+
+    /**
+     * Leading characters that make spreadsheet applications evaluate a cell as
+     * a formula.
+     */
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+
+    private static final List<String> CSV_HEADER = List.of(
+            "key", "title", "description", "type", "status", "priority",
+            "assignee", "reporter", "created_at", "updated_at");
+
+    @Inject
+    TicketRepository ticketRepository;
+
+    @Inject
+    CommentRepository commentRepository;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    /**
+     * Export all tickets matching a filter. With search text, the full-text hits
+     * are exported best match first, exactly as the ticket grid lists them;
+     * status and assignee are then not applied. The output stream is flushed
+     * after every chunk but not closed. The export runs in one transaction with its
+     * own timeout, so the cursor stays open for the whole download.
+     *
+     * @param filter          the filter criteria
+     * @param format          the export format
+     * @param includeComments whether to include the comments of each ticket
+     * @param output          the stream to write to
+     * @return number of exported tickets
+     * @throws IOException if writing to the output stream fails
+     */
+    @Transactional
+    @TransactionConfiguration(timeout = TRANSACTION_TIMEOUT,
+            timeoutFromConfigProperty = "lpm.export.transaction-timeout")
+    public long export(
+            final TicketFilter filter,
+            final ExportFormat format,
+            final boolean includeComments,
+            final OutputStream output) throws IOException {
+        final var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            final var header = new ArrayList<>(CSV_HEADER);
+            if (includeComments) {
+                header.add("comments");
+            }
+            writeCsvRow(writer, header);
+        }
+
+        var count = 0L;
+        final var chunk = new ArrayList<TicketDto>(CHUNK_SIZE);
+        try (final var tickets = this.streamTickets(filter)) {
+            final var iterator = tickets.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE || !iterator.hasNext()) {
+                    this.writeChunk(writer, format, includeComments, chunk);
+                    count += chunk.size();
+                    chunk.clear();
+                }
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private Stream<TicketDto> streamTickets(final TicketFilter filter) {
+        if (filter == null || !filter.hasSearchText()) {
+            return this.ticketRepository.streamDtosByFilter(filter);
+        }
+        // Same full-text match and ranking as the ticket grid, so the export holds what the grid shows
+        final var tsQuery = TicketRepository.toPrefixQuery(filter.searchText());
+        if (tsQuery.isEmpty()) {
+            return Stream.empty();
+        }
+        return this.ticketRepository.streamSearchDtos(tsQuery, filter.projectId(), filter.projectIds());
+    }
+
+    private void writeChunk(
+            final Writer writer,
+            final ExportFormat format,
+            final boolean includeComments,
+            final List<TicketDto> tickets) throws IOException {
+        final Map<Long, List<CommentDto>> comments = includeComments
+                ? this.commentRepository.findDtosByTickets(tickets.stream()
+                        .map(TicketDto::id)
+                        .collect(Collectors.toList())).stream()
+                        .collect(Collectors.groupingBy(CommentDto::ticketId))
+                : Map.of();
+
+        for (final var ticket : tickets) {
+            final var ticketComments = comments.getOrDefault(ticket.id(), List.of());
+            if (format == ExportFormat.CSV) {
+                this.writeCsvTicket(writer, ticket, includeComments, ticketComments);
+            } else {
+                this.writeJsonTicket(writer, ticket, includeComments, ticketComments);
+            }
+        }
+        writer.flush();
+    }
+
+    private void writeCsvTicket(
+            final Writer writer,
+            final TicketDto ticket,
+            final boolean includeComments,
+            final List<CommentDto> comments) throws IOException {
+        final var row = new ArrayList<String>(CSV_HEADER.size() + 1);
+        row.add(ticket.ticketKey());
+        row.add(ticket.title());
+        row.add(ticket.description());
+        row.add(ticket.typeName());
+        row.add(ticket.statusName());
+        row.add(ticket.priorityName());
+        row.add(ticket.assigneeName());
+        row.add(ticket.reporterName());
+        row.add(Objects.toString(ticket.createdAt(), null));
+        row.add(Objects.toString(ticket.updatedAt(), null));
+        if (includeComments) {
+            row.add(comments.stream()
+                    .map(comment -> comment.authorName() + " (" + comment.createdAt() + "): " + comment.content())
+                    .collect(Collectors.joining("\n")));
+        }
+        writeCsvRow(writer, row);
+    }
+
+    private void writeJsonTicket(
+            final Writer writer,
+            final TicketDto ticket,
+            final boolean includeComments,
+            final List<CommentDto> comments) throws IOException {
+        final ObjectNode node = this.objectMapper.valueToTree(ticket);
+        if (includeComments) {
+            node.set("comments", this.objectMapper.valueToTree(comments));
+        }
+        writer.write(this.objectMapper.writeValueAsString(node));
+        writer.write('\n');
+    }
+
+    private static void writeCsvRow(final Writer writer, final List<String> values) throws IOException {
+        for (var i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(final String text) {
+        if (text == null) {
+            return "";
+        }
+        // Ticket text is user input; a leading quote keeps spreadsheets from running it as a formula
+        final var value = !text.isEmpty() && FORMULA_PREFIXES.indexOf(text.charAt(0)) >= 0 ? "'" + text : text;
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,15 +1,39 @@
 package de.vptr.lpm.service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.vaadin.flow.data.provider.QuerySortOrder;
+import com.vaadin.flow.data.provider.SortDirection;
+
+import de.vptr.lpm.audit.ActivityDetails;
+import de.vptr.lpm.dto.ActivityLogEntryDto;
+import de.vptr.lpm.dto.TicketBoardColumnDto;
 import de.vptr.lpm.dto.TicketDto;
+import de.vptr.lpm.dto.TicketFilter;
+import de.vptr.lpm.dto.TicketPriorityDto;
+import de.vptr.lpm.dto.TicketSearchResultDto;
+import de.vptr.lpm.dto.TicketStateDto;
+import de.vptr.lpm.dto.TicketStatusDto;
 import de.vptr.lpm.entity.Ticket;
+import de.vptr.lpm.entity.User;
+import de.vptr.lpm.event.TicketChangeEvent;
 import de.vptr.lpm.repository.ProjectRepository;
+import de.vptr.lpm.repository.TicketPriorityRepository;
 import de.vptr.lpm.repository.TicketRepository;
+import de.vptr.lpm.repository.TicketStatusRepository;
 import de.vptr.lpm.repository.UserRepository;
+import io.quarkus.panache.common.Parameters;
+import io.quarkus.panache.common.Sort;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
@@ -19,6 +43,13 @@ import jakarta.transaction.Transactional;
 @ApplicationScoped
 public class TicketService {
 
+    /**
+     * Maximum number of tickets changed per UPDATE statement by bulk operations.
+     */
+    private static final int BULK_CHUNK_SIZE = 500;
+
+    private static final String STATUS_PROPERTY = "status";
+
     @Inject
     TicketRepository repository;
 
@@ -28,6 +59,24 @@ public class TicketService {
     @Inject
     UserRepository userRepository;
 
+    @Inject
+    TicketStatusRepository statusRepository;
+
+    @Inject
+    TicketPriorityRepository priorityRepository;
+
+    @Inject
+    ActivityLogService activityLogService;
+
+    @Inject
+    UserDirectoryService userDirectory;
+
+    @Inject
+    TicketKeyAllocator keyAllocator;
+
+    @Inject
+    Event<TicketChangeEvent> changeEvent;
+
     /**
      * Create a new ticket.
      *
@@ -54,8 +103,7 @@ public class TicketService {
         }
 
         // Generate ticket key
-        final var ticketCount = this.repository.count("project.id = ?1", projectId) + 1;
-        final var ticketKey = project.projectKey + "-" + ticketCount;
+        final var ticketKey = project.projectKey + "-" + this.keyAllocator.nextNumber(projectId);
 
         final var ticket = new Ticket();
         ticket.project = project;
@@ -65,7 +113,9 @@ public class TicketService {
         ticket.reporter = reporter;
 
         this.repository.persist(ticket);
-        return TicketDto.fromEntity(ticket);
+        final var dto = this.toDto(ticket);
+        this.changeEvent.fire(TicketChangeEvent.created(dto));
+        return dto;
     }
 
     /**
@@ -75,8 +125,7 @@ public class TicketService {
      * @return an Optional containing the ticket if found
      */
     public Optional<TicketDto> findById(final Long id) {
-        return this.repository.findByIdOptional(id)
-                .map(TicketDto::fromEntity);
+        return Optional.ofNullable(this.repository.findDtoById(id));
     }
 
     /**
@@ -88,7 +137,7 @@ public class TicketService {
     public Optional<TicketDto> findByKey(final String ticketKey) {
         final var ticket = this.repository.findByKey(ticketKey);
         return Optional.ofNullable(ticket)
-                .map(TicketDto::fromEntity);
+                .map(this::toDto);
     }
 
     /**
@@ -98,9 +147,7 @@ public class TicketService {
      * @return list of tickets in the project
      */
     public List<TicketDto> findByProject(final Long projectId) {
-        return this.repository.findByProject(projectId).stream()
-                .map(TicketDto::fromEntity)
-                .collect(Collectors.toList());
+        return this.repository.findDtosByProject(projectId);
     }
 
     /**
@@ -110,11 +157,130 @@ public class TicketService {
      * @return list of assigned tickets
      */
     public List<TicketDto> findByAssignee(final Long userId) {
-        return this.repository.findByAssignee(userId).stream()
-                .map(TicketDto::fromEntity)
+        return this.repository.findDtosByAssignee(userId);
+    }
+
+    /**
+     * Query a window of tickets. Filtering, sorting and paging run in the
+     * database, so only the requested rows are loaded.
+     *
+     * @param filter     the filter criteria
+     * @param sortOrders the requested sort orders by property name
+     * @param offset     index of the first ticket to return
+     * @param limit      maximum number of tickets to return
+     * @return list of tickets in the requested window
+     */
+    public List<TicketDto> query(
+            final TicketFilter filter,
+            final List<QuerySortOrder> sortOrders,
+            final int offset,
+            final int limit) {
+        return this.repository.findDtosByFilter(filter, toSort(sortOrders), offset, limit);
+    }
+
+    /**
+     * Count tickets matching a filter.
+     *
+     * @param filter the filter criteria
+     * @return number of matching tickets
+     */
+    public long count(final TicketFilter filter) {
+        return this.repository.countByFilter(filter);
+    }
+
+    /**
+     * Full-text search ticket keys, titles and descriptions. Every word of the
+     * query must match, words are matched as prefixes.
+     *
+     * @param query     the search text as entered by the user
+     * @param projectId the project ID to restrict to, or null for all projects
+     * @param offset    index of the first hit to return
+     * @param limit     maximum number of hits to return
+     * @return list of search hits, best match first
+     */
+    public List<TicketSearchResultDto> search(final String query, final Long projectId, final int offset,
+            final int limit) {
+        return this.search(new TicketFilter(query, projectId, null, null), offset, limit);
+    }
+
+    /**
+     * Full-text search with the search text, project and accessible projects
+     * of a filter. Status and assignee are not applied.
+     *
+     * @param filter the filter holding the search text
+     * @param offset index of the first hit to return
+     * @param limit  maximum number of hits to return
+     * @return list of search hits, best match first
+     */
+    public List<TicketSearchResultDto> search(final TicketFilter filter, final int offset, final int limit) {
+        final var tsQuery = TicketRepository.toPrefixQuery(filter.searchText());
+        if (tsQuery.isEmpty()) {
+            return List.of();
+        }
+        return this.repository.search(tsQuery, filter.projectId(), filter.projectIds(), offset, limit);
+    }
+
+    /**
+     * Count full-text search hits.
+     *
+     * @param query     the search text as entered by the user
+     * @param projectId the project ID to restrict to, or null for all projects
+     * @return number of matching tickets
+     */
+    public long countSearch(final String query, final Long projectId) {
+        return this.countSearch(new TicketFilter(query, projectId, null, null));
+    }
+
+    /**
+     * Count full-text search hits for the search text, project and accessible
+     * projects of a filter.
+     *
+     * @param filter the filter holding the search text
+     * @return number of matching tickets
+     */
+    public long countSearch(final TicketFilter filter) {
+        final var tsQuery = TicketRepository.toPrefixQuery(filter.searchText());
+        if (tsQuery.isEmpty()) {
+            return 0;
+        }
+        return this.repository.countSearch(tsQuery, filter.projectId(), filter.projectIds());
+    }
+
+    /**
+     * Load the ticket board of a project: one column per ticket status, in
+     * status order, each with its total ticket count and its newest tickets.
+     *
+     * @param projectId      the project ID
+     * @param cardsPerColumn maximum number of tickets loaded per column
+     * @return list of board columns
+     */
+    public List<TicketBoardColumnDto> loadBoard(final Long projectId, final int cardsPerColumn) {
+        final var columns = this.repository.findBoardColumns(projectId, cardsPerColumn);
+        return this.listStatuses().stream()
+                .map(status -> {
+                    final var column = columns.get(status.id());
+                    return column != null ? column.withStatus(status) : TicketBoardColumnDto.empty(status);
+                })
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Get a further page of board cards for one status column.
+     *
+     * @param projectId the project ID
+     * @param statusId  the ticket status ID
+     * @param offset    index of the first ticket to return
+     * @param limit     maximum number of tickets to return
+     * @return list of tickets in the requested window, newest first
+     */
+    public List<TicketDto> findBoardCards(
+            final Long projectId,
+            final Long statusId,
+            final int offset,
+            final int limit) {
+        return this.repository.findDtosByProjectAndStatus(projectId, statusId, offset, limit);
+    }
+
     /**
      * Update a ticket.
      *
@@ -137,7 +303,7 @@ public class TicketService {
         ticket.description = description;
 
         this.repository.persist(ticket);
-        return TicketDto.fromEntity(ticket);
+        return this.fireUpdated(ticket, ticket.status != null ? ticket.status.id : null);
     }
 
     /**
@@ -165,7 +331,7 @@ public class TicketService {
         }
 
         this.repository.persist(ticket);
-        return TicketDto.fromEntity(ticket);
+        return this.fireUpdated(ticket, ticket.status != null ? ticket.status.id : null);
     }
 
     /**
@@ -182,10 +348,122 @@ public class TicketService {
             throw new IllegalArgumentException("Ticket not found: " + ticketId);
         }
 
-        // Note: Status is set via the service, not directly here
-        // This would require a StatusRepository injection
+        final var status = this.statusRepository.findById(statusId);
+        if (status == null) {
+            throw new IllegalArgumentException("Ticket status not found: " + statusId);
+        }
+
+        final var previousStatusId = ticket.status != null ? ticket.status.id : null;
+        ticket.status = status;
+
         this.repository.persist(ticket);
-        return TicketDto.fromEntity(ticket);
+        return this.fireUpdated(ticket, previousStatusId);
+    }
+
+    /**
+     * Assign many tickets to a user in one transaction. Tickets outside the
+     * given projects are left unchanged.
+     *
+     * @param ticketIds    the ticket IDs
+     * @param userId       the user ID (or null to unassign)
+     * @param actingUserId ID of the user performing the change
+     * @param projectIds   IDs of the projects the acting user may access, or
+     *                     null for all projects
+     * @return number of updated tickets
+     */
+    @Transactional
+    public int bulkAssign(final Collection<Long> ticketIds, final Long userId, final Long actingUserId,
+            final Collection<Long> projectIds) {
+        User user = null;
+        if (userId != null) {
+            user = this.userRepository.findById(userId);
+            if (user == null) {
+                throw new IllegalArgumentException("User not found: " + userId);
+            }
+        }
+
+        return this.applyBulkChange(ticketIds, projectIds, "assignee = :assignee", Parameters.with("assignee", user),
+                "assignee", TicketStateDto::assigneeId, userId, actingUserId);
+    }
+
+    /**
+     * Change the status of many tickets in one transaction. Tickets outside
+     * the given projects are left unchanged.
+     *
+     * @param ticketIds    the ticket IDs
+     * @param statusId     the new status ID
+     * @param actingUserId ID of the user performing the change
+     * @param projectIds   IDs of the projects the acting user may access, or
+     *                     null for all projects
+     * @return number of updated tickets
+     */
+    @Transactional
+    public int bulkChangeStatus(final Collection<Long> ticketIds, final Long statusId, final Long actingUserId,
+            final Collection<Long> projectIds) {
+        final var status = this.statusRepository.findById(statusId);
+        if (status == null) {
+            throw new IllegalArgumentException("Ticket status not found: " + statusId);
+        }
+
+        return this.applyBulkChange(ticketIds, projectIds, "status = :status", Parameters.with("status", status),
+                STATUS_PROPERTY, TicketStateDto::statusId, statusId, actingUserId);
+    }
+
+    /**
+     * Change the priority of many tickets in one transaction. Tickets outside
+     * the given projects are left unchanged.
+     *
+     * @param ticketIds    the ticket IDs
+     * @param priorityId   the new priority ID
+     * @param actingUserId ID of the user performing the change
+     * @param projectIds   IDs of the projects the acting user may access, or
+     *                     null for all projects
+     * @return number of updated tickets
+     */
+    @Transactional
+    public int bulkChangePriority(final Collection<Long> ticketIds, final Long priorityId,
+            final Long actingUserId, final Collection<Long> projectIds) {
+        final var priority = this.priorityRepository.findById(priorityId);
+        if (priority == null) {
+            throw new IllegalArgumentException("Ticket priority not found: " + priorityId);
+        }
+
+        return this.applyBulkChange(ticketIds, projectIds, "priority = :priority",
+                Parameters.with("priority", priority), "priority", TicketStateDto::priorityId, priorityId,
+                actingUserId);
+    }
+
+    /**
+     * Find the IDs of all tickets matching a filter, e.g. to pass them to a
+     * bulk operation.
+     *
+     * @param filter the filter criteria
+     * @return list of matching ticket IDs
+     */
+    public List<Long> findIds(final TicketFilter filter) {
+        return this.repository.findIdsByFilter(filter);
+    }
+
+    /**
+     * List all ticket statuses in workflow order.
+     *
+     * @return list of ticket status DTOs
+     */
+    public List<TicketStatusDto> listStatuses() {
+        return this.statusRepository.findAllOrdered().stream()
+                .map(TicketStatusDto::fromEntity)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * List all ticket priorities in order.
+     *
+     * @return list of ticket priority DTOs
+     */
+    public List<TicketPriorityDto> listPriorities() {
+        return this.priorityRepository.findAllOrdered().stream()
+                .map(TicketPriorityDto::fromEntity)
+                .collect(Collectors.toList());
     }
 
     /**
@@ -195,7 +473,15 @@ public class TicketService {
      */
     @Transactional
     public void deleteTicket(final Long id) {
-        this.repository.deleteById(id);
+        final var ticket = this.repository.findById(id);
+        if (ticket == null) {
+            return;
+        }
+
+        final var event = TicketChangeEvent.deleted(ticket.id, ticket.project.id,
+                ticket.status != null ? ticket.status.id : null);
+        this.repository.delete(ticket);
+        this.changeEvent.fire(event);
     }
 
     /**
@@ -214,8 +500,73 @@ public class TicketService {
      * @return list of all tickets as DTOs
      */
     public List<TicketDto> listAll() {
-        return Ticket.<Ticket>listAll().stream()
-                .map(TicketDto::fromEntity)
-                .collect(Collectors.toList());
+        return this.repository.listAllDtos();
+    }
+
+    private int applyBulkChange(
+            final Collection<Long> ticketIds,
+            final Collection<Long> projectIds,
+            final String assignments,
+            final Parameters params,
+            final String property,
+            final Function<TicketStateDto, Long> previousValue,
+            final Long newValueId,
+            final Long actingUserId) {
+        if (projectIds != null && projectIds.isEmpty()) {
+            return 0;
+        }
+        final var ids = List.copyOf(new LinkedHashSet<>(ticketIds));
+        var updated = 0;
+        for (var from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            final var chunk = ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size()));
+            final var previousStates = this.repository.findStates(chunk, projectIds);
+            if (previousStates.isEmpty()) {
+                continue;
+            }
+
+            updated += this.repository.bulkUpdate(assignments, params, previousStates.keySet(), projectIds);
+
+            // Bulk updates bypass entity events, so the change sets are logged here
+            final var now = LocalDateTime.now();
+            final var entries = new ArrayList<ActivityLogEntryDto>(previousStates.size());
+            for (final var ticket : this.repository.findDtosByIds(previousStates.keySet())) {
+                final var previousState = previousStates.get(ticket.id());
+                final var details = ActivityDetails.create()
+                        .change(property, previousValue.apply(previousState), newValueId);
+                entries.add(new ActivityLogEntryDto("Ticket", ticket.id(), "UPDATE", actingUserId,
+                        details.project(ticket.projectId()).bulk().toJson(), now));
+                this.changeEvent.fire(TicketChangeEvent.updated(previousState.statusId(), ticket));
+            }
+            this.activityLogService.logEntries(entries);
+        }
+        return updated;
+    }
+
+    private TicketDto fireUpdated(final Ticket ticket, final Long previousStatusId) {
+        final var dto = this.toDto(ticket);
+        this.changeEvent.fire(TicketChangeEvent.updated(previousStatusId, dto));
+        return dto;
+    }
+
+    private TicketDto toDto(final Ticket ticket) {
+        final var users = this.userDirectory.resolveAll(Arrays.asList(
+                ticket.assignee != null ? ticket.assignee.id : null,
+                ticket.reporter != null ? ticket.reporter.id : null));
+        return TicketDto.fromEntity(ticket, users);
+    }
+
+    private static Sort toSort(final List<QuerySortOrder> sortOrders) {
+        Sort sort = null;
+        if (sortOrders != null) {
+            for (final var order : sortOrders) {
+                final var direction = order.getDirection() == SortDirection.DESCENDING
+                        ? Sort.Direction.Descending
+                        : Sort.Direction.Ascending;
+                sort = sort == null
+                        ? Sort.by(order.getSorted(), direction)
+                        : sort.and(order.getSorted(), direction);
+            }
+        }
+        return sort;
     }
 }
@@ -0,0 +1,143 @@
+package de.vptr.lpm.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import de.vptr.lpm.dto.CacheStatisticsDto;
+import de.vptr.lpm.dto.UserSummaryDto;
+import de.vptr.lpm.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import jakarta.transaction.TransactionSynchronizationRegistry;
+
+/**
+ * Resolves user IDs to the user fields shown next to tickets, comments,
+ * projects and activity logs. Summaries are cached, and the ones missing from
+ * the cache are loaded with a single query, so mapping a list of entities does
+ * not initialize one lazy user per distinct user. User updates and deletions
+ * evict the affected entry once they have committed.
+ */
+@ApplicationScoped
+public class UserDirectoryService {
+
+    private static final String CACHE_NAME = "user-directory";
+
+    @ConfigProperty(name = "lpm.user-directory.cache-ttl", defaultValue = "PT10M")
+    Duration cacheTtl;
+
+    @ConfigProperty(name = "lpm.user-directory.cache-max-size", defaultValue = "10000")
+    long cacheMaxSize;
+
+    @Inject
+    UserRepository userRepository;
+
+    @Inject
+    TransactionSynchronizationRegistry transactionRegistry;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final LongAdder putCount = new LongAdder();
+
+    private Cache<Long, UserSummaryDto> cache;
+
+    @PostConstruct
+    void init() {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(this.cacheTtl)
+                .maximumSize(this.cacheMaxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Resolve user IDs to user summaries. Null IDs are ignored.
+     *
+     * @param ids the user IDs
+     * @return the user summaries by user ID; unknown IDs are left out
+     */
+    public Map<Long, UserSummaryDto> resolveAll(final Collection<Long> ids) {
+        final var keys = ids.stream()
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (keys.isEmpty()) {
+            return Map.of();
+        }
+
+        final var resolved = new HashMap<>(this.cache.getAllPresent(keys));
+        if (resolved.size() == keys.size()) {
+            return resolved;
+        }
+
+        final var missing = new HashSet<>(keys);
+        missing.removeAll(resolved.keySet());
+        final var expectedGeneration = this.generation.get();
+        final var loaded = this.userRepository.findSummaries(missing).stream()
+                .collect(Collectors.toMap(UserSummaryDto::id, Function.identity()));
+        this.cache.putAll(loaded);
+        this.putCount.add(loaded.size());
+        if (this.generation.get() != expectedGeneration) {
+            // A user change committed while loading, so the loaded rows may predate it
+            this.cache.invalidateAll(loaded.keySet());
+        }
+
+        resolved.putAll(loaded);
+        return resolved;
+    }
+
+    /**
+     * Evict a user's cached summary once the current transaction completes.
+     *
+     * @param userId the user ID
+     */
+    public void invalidate(final Long userId) {
+        this.afterCompletion(() -> {
+            this.generation.incrementAndGet();
+            this.cache.invalidate(userId);
+        });
+    }
+
+    /**
+     * Get hit and miss statistics of the user directory cache.
+     *
+     * @return the cache statistics
+     */
+    public CacheStatisticsDto getStatistics() {
+        final var stats = this.cache.stats();
+        return new CacheStatisticsDto(CACHE_NAME, stats.hitCount(), stats.missCount(), this.putCount.sum());
+    }
+
+    private void afterCompletion(final Runnable eviction) {
+        if (this.transactionRegistry.getTransactionStatus() != Status.STATUS_ACTIVE) {
+            eviction.run();
+            return;
+        }
+        // Evicting only after the commit keeps concurrent reads from caching the old values
+        this.transactionRegistry.registerInterposedSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+                // Nothing to do before the commit
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                eviction.run();
+            }
+        });
+    }
+}
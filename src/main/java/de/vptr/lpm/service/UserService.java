@@ -9,13 +9,17 @@ import de.vptr.lpm.entity.User;
 import de.vptr.lpm.enums.UserStatus;
 import de.vptr.lpm.repository.RoleRepository;
 import de.vptr.lpm.repository.UserRepository;
-import de.vptr.lpm.security.PasswordUtil;
+import de.vptr.lpm.security.CredentialCache;
+import de.vptr.lpm.security.PasswordHashingService;
+import de.vptr.lpm.security.ProjectAuthorizationService;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.transaction.Transactional;
 
 /**
- * Service for managing users and authentication.
+ * Service for managing users. Logins are handled by
+ * {@link AuthenticationService}.
  */
 @ApplicationScoped
 public class UserService {
@@ -26,6 +30,18 @@ public class UserService {
     @Inject
     RoleRepository roleRepository;
 
+    @Inject
+    PasswordHashingService passwordHashingService;
+
+    @Inject
+    CredentialCache credentialCache;
+
+    @Inject
+    ProjectAuthorizationService authorizationService;
+
+    @Inject
+    UserDirectoryService userDirectory;
+
     /**
      * Finds a user by ID.
      *
@@ -71,7 +87,9 @@ public class UserService {
     }
 
     /**
-     * Creates a new user with the given credentials.
+     * Creates a new user with the given credentials. The password is hashed
+     * before the transaction starts, so waiting for a hashing thread does not
+     * hold a database connection.
      *
      * @param username    the username
      * @param email       the email
@@ -80,42 +98,30 @@ public class UserService {
      * @return the created UserDTO
      * @throws IllegalArgumentException if username or email already exists
      */
-    @Transactional
     public UserDto createUser(
             final String username,
             final String email,
             final String password,
             final String displayName) {
-        if (this.userRepository.findByUsername(username).isPresent()) {
-            throw new IllegalArgumentException("Username already exists: " + username);
-        }
-        if (this.userRepository.findByEmail(email).isPresent()) {
-            throw new IllegalArgumentException("Email already exists: " + email);
-        }
-
-        final var user = new User();
-        user.username = username;
-        user.email = email;
-        user.passwordHash = PasswordUtil.hashPassword(password);
-        user.displayName = displayName;
-        user.status = UserStatus.ACTIVE;
-
-        this.userRepository.persist(user);
-        return UserDto.fromEntity(user);
-    }
-
-    /**
-     * Authenticates a user by username and password.
-     *
-     * @param username the username
-     * @param password the plain-text password to verify
-     * @return Optional containing the UserDTO if authentication succeeds
-     */
-    public Optional<UserDto> authenticate(final String username, final String password) {
-        return this.userRepository.findByUsername(username)
-                .filter(user -> user.status == UserStatus.ACTIVE)
-                .filter(user -> PasswordUtil.verifyPassword(password, user.passwordHash))
-                .map(UserDto::fromEntity);
+        final var passwordHash = this.passwordHashingService.hash(password);
+        return QuarkusTransaction.joiningExisting().call(() -> {
+            if (this.userRepository.findByUsername(username).isPresent()) {
+                throw new IllegalArgumentException("Username already exists: " + username);
+            }
+            if (this.userRepository.findByEmail(email).isPresent()) {
+                throw new IllegalArgumentException("Email already exists: " + email);
+            }
+
+            final var user = new User();
+            user.username = username;
+            user.email = email;
+            user.passwordHash = passwordHash;
+            user.displayName = displayName;
+            user.status = UserStatus.ACTIVE;
+
+            this.userRepository.persist(user);
+            return UserDto.fromEntity(user);
+        });
     }
 
     /**
@@ -133,6 +139,7 @@ public class UserService {
                     user.email = email;
                     user.displayName = displayName;
                     this.userRepository.persist(user);
+                    this.userDirectory.invalidate(id);
                     return UserDto.fromEntity(user);
                 })
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + id));
@@ -152,31 +159,39 @@ public class UserService {
                 .map(user -> {
                     user.email = dto.email();
                     user.displayName = dto.displayName();
+                    if (user.status != dto.status()) {
+                        this.credentialCache.invalidateUser(id);
+                        // Reactivating ends an automatic lockout; locking here has no end
+                        user.lockedUntil = null;
+                    }
                     user.status = dto.status();
                     this.userRepository.persist(user);
+                    this.userDirectory.invalidate(id);
                     return UserDto.fromEntity(user);
                 })
                 .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + id));
     }
 
     /**
-     * Changes a user's password.
+     * Changes a user's password. The password is hashed before the transaction
+     * starts.
      *
      * @param id          the user ID
      * @param newPassword the new plain-text password
      * @throws IllegalArgumentException if user not found
      */
-    @Transactional
     public void changePassword(final Long id, final String newPassword) {
-        this.userRepository.findByIdOptional(id)
+        final var passwordHash = this.passwordHashingService.hash(newPassword);
+        QuarkusTransaction.joiningExisting().run(() -> this.userRepository.findByIdOptional(id)
                 .ifPresentOrElse(
                         user -> {
-                            user.passwordHash = PasswordUtil.hashPassword(newPassword);
+                            user.passwordHash = passwordHash;
                             this.userRepository.persist(user);
+                            this.credentialCache.invalidateUser(id);
                         },
                         () -> {
                             throw new IllegalArgumentException("User not found with ID: " + id);
-                        });
+                        }));
     }
 
     /**
@@ -188,6 +203,9 @@ public class UserService {
     @Transactional
     public void deleteUser(final Long id) {
         if (this.userRepository.deleteById(id)) {
+            this.credentialCache.invalidateUser(id);
+            this.authorizationService.invalidateUser(id);
+            this.userDirectory.invalidate(id);
             return;
         }
         throw new IllegalArgumentException("User not found with ID: " + id);
@@ -1,12 +1,30 @@
 package de.vptr.lpm.view;
 
+import java.util.ArrayList;
+
+import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import com.vaadin.flow.server.VaadinSession;
 
-import de.vptr.lpm.dto.UserDto;
+import de.vptr.lpm.component.feed.ActivityFeed;
+import de.vptr.lpm.dto.CacheStatisticsDto;
+import de.vptr.lpm.dto.HashingStatisticsDto;
+import de.vptr.lpm.dto.LoginThrottleStatisticsDto;
+import de.vptr.lpm.dto.SessionStatisticsDto;
+import de.vptr.lpm.security.CredentialCache;
+import de.vptr.lpm.security.LoginThrottle;
+import de.vptr.lpm.security.PasswordHashingService;
+import de.vptr.lpm.security.ProjectAuthorizationService;
+import de.vptr.lpm.security.SessionRegistry;
+import de.vptr.lpm.security.SessionUser;
+import de.vptr.lpm.service.ActivityLogService;
+import de.vptr.lpm.service.LookupCacheService;
+import de.vptr.lpm.service.MarkdownRenderService;
+import de.vptr.lpm.service.UserDirectoryService;
+import jakarta.inject.Inject;
 
 /**
  * Dashboard view serving as the landing page after login.
@@ -15,19 +33,111 @@ import de.vptr.lpm.dto.UserDto;
 @PageTitle("Dashboard | LPM")
 public class DashboardView extends VerticalLayout {
 
+    private static final int FEED_PAGE_SIZE = 50;
+
     /**
      * Initializes the dashboard view with welcome message.
+     *
+     * @param activityLogService    service providing the user's activity feed
+     * @param lookupCacheService    service providing cache statistics for admins
+     * @param markdownRenderService service providing rendered Markdown cache
+     *                              statistics for admins
+     * @param passwordHashingService service providing password hashing load
+     *                               for admins
+     * @param credentialCache        cache of verified logins, whose statistics
+     *                               are shown to admins
+     * @param loginThrottle          login throttle, whose counters are shown to
+     *                               admins
+     * @param sessionRegistry        registry of logged-in sessions, whose size
+     *                               is shown to admins
+     * @param authorizationService   project access service, whose cache
+     *                               statistics are shown to admins
+     * @param userDirectory          user directory, whose cache statistics are
+     *                               shown to admins
      */
-    public DashboardView() {
+    @Inject
+    public DashboardView(final ActivityLogService activityLogService, final LookupCacheService lookupCacheService,
+            final MarkdownRenderService markdownRenderService, final PasswordHashingService passwordHashingService,
+            final CredentialCache credentialCache, final LoginThrottle loginThrottle,
+            final SessionRegistry sessionRegistry, final ProjectAuthorizationService authorizationService,
+            final UserDirectoryService userDirectory) {
         this.setPadding(true);
         this.setSpacing(true);
 
-        final var currentUser = (UserDto) VaadinSession.getCurrent().getAttribute("user");
+        final var currentUser = SessionUser.current();
         if (currentUser == null) {
             this.add(new H2("Not logged in"));
             return;
         }
 
         this.add(new H2("Welcome, " + currentUser.displayName()));
+
+        final var activityFeed = new ActivityFeed(
+                (cursor, limit) -> activityLogService.findByUserBefore(currentUser.id(), cursor, limit),
+                FEED_PAGE_SIZE);
+        activityFeed.setHeight("400px");
+        this.add(new H3("Your recent activity"), activityFeed);
+
+        if (currentUser.isAdmin()) {
+            this.add(new H3("Cache statistics"),
+                    this.createCacheStatisticsGrid(lookupCacheService, markdownRenderService, credentialCache,
+                            authorizationService, userDirectory));
+            this.add(new H3("Password hashing"), this.createHashingStatisticsGrid(passwordHashingService));
+            this.add(new H3("Login throttling"), this.createLoginThrottleGrid(loginThrottle));
+            this.add(new H3("Sessions"), this.createSessionStatisticsGrid(sessionRegistry));
+        }
+    }
+
+    private Grid<CacheStatisticsDto> createCacheStatisticsGrid(final LookupCacheService lookupCacheService,
+            final MarkdownRenderService markdownRenderService, final CredentialCache credentialCache,
+            final ProjectAuthorizationService authorizationService, final UserDirectoryService userDirectory) {
+        final var grid = new Grid<>(CacheStatisticsDto.class, false);
+        grid.addColumn(CacheStatisticsDto::regionName).setHeader("Region").setFlexGrow(3);
+        grid.addColumn(CacheStatisticsDto::hitCount).setHeader("Hits");
+        grid.addColumn(CacheStatisticsDto::missCount).setHeader("Misses");
+        grid.addColumn(CacheStatisticsDto::putCount).setHeader("Puts");
+        grid.addColumn(stats -> "%.1f %%".formatted(stats.hitRatio() * 100)).setHeader("Hit ratio");
+        final var statistics = new ArrayList<>(lookupCacheService.getStatistics());
+        statistics.add(markdownRenderService.getStatistics());
+        statistics.add(credentialCache.getStatistics());
+        statistics.add(authorizationService.getStatistics());
+        statistics.add(userDirectory.getStatistics());
+        grid.setItems(statistics);
+        grid.setAllRowsVisible(true);
+        return grid;
+    }
+
+    private Grid<HashingStatisticsDto> createHashingStatisticsGrid(
+            final PasswordHashingService passwordHashingService) {
+        final var grid = new Grid<>(HashingStatisticsDto.class, false);
+        grid.addColumn(stats -> stats.activeCount() + " / " + stats.maxThreads()).setHeader("Active threads");
+        grid.addColumn(stats -> stats.queueDepth() + " / " + stats.queueCapacity()).setHeader("Queued");
+        grid.addColumn(HashingStatisticsDto::completedCount).setHeader("Completed");
+        grid.addColumn(HashingStatisticsDto::rejectedCount).setHeader("Rejected");
+        grid.setItems(passwordHashingService.getStatistics());
+        grid.setAllRowsVisible(true);
+        return grid;
+    }
+
+    private Grid<LoginThrottleStatisticsDto> createLoginThrottleGrid(final LoginThrottle loginThrottle) {
+        final var grid = new Grid<>(LoginThrottleStatisticsDto.class, false);
+        grid.addColumn(LoginThrottleStatisticsDto::rejectedByUsername).setHeader("Rejected by username");
+        grid.addColumn(LoginThrottleStatisticsDto::rejectedByAddress).setHeader("Rejected by address");
+        grid.addColumn(LoginThrottleStatisticsDto::lockouts).setHeader("Lockouts");
+        grid.addColumn(stats -> stats.trackedUsernames() + " / " + stats.trackedAddresses())
+                .setHeader("Tracked usernames / addresses");
+        grid.setItems(loginThrottle.getStatistics());
+        grid.setAllRowsVisible(true);
+        return grid;
+    }
+
+    private Grid<SessionStatisticsDto> createSessionStatisticsGrid(final SessionRegistry sessionRegistry) {
+        final var grid = new Grid<>(SessionStatisticsDto.class, false);
+        grid.addColumn(SessionStatisticsDto::activeSessions).setHeader("Logged-in sessions");
+        grid.addColumn(SessionStatisticsDto::averagePrincipalBytes).setHeader("Bytes per session user");
+        grid.addColumn(SessionStatisticsDto::totalPrincipalBytes).setHeader("Bytes in total");
+        grid.setItems(sessionRegistry.getStatistics());
+        grid.setAllRowsVisible(true);
+        return grid;
     }
 }
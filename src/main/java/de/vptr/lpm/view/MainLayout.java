@@ -17,7 +17,8 @@ import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.server.VaadinSession;
 
 import de.vptr.lpm.component.button.ThemeToggleButton;
-import de.vptr.lpm.dto.UserDto;
+import de.vptr.lpm.security.SessionRegistry;
+import de.vptr.lpm.security.SessionUser;
 import de.vptr.lpm.service.ThemeService;
 import de.vptr.lpm.view.user.LoginView;
 import jakarta.inject.Inject;
@@ -32,6 +33,9 @@ public class MainLayout extends AppLayout implements BeforeEnterObserver {
     @Inject
     transient ThemeService themeService;
 
+    @Inject
+    transient SessionRegistry sessionRegistry;
+
     private boolean initialized = false;
     private boolean drawerInitialized = false;
     private com.vaadin.flow.component.applayout.DrawerToggle drawerToggle;
@@ -53,7 +57,7 @@ public class MainLayout extends AppLayout implements BeforeEnterObserver {
         }
 
         final var targetView = event.getNavigationTarget();
-        final var currentUser = (UserDto) VaadinSession.getCurrent().getAttribute("user");
+        final var currentUser = SessionUser.current();
 
         LOG.trace("MainLayout.beforeEnter - Target: {}", targetView.getSimpleName());
 
@@ -104,9 +108,8 @@ public class MainLayout extends AppLayout implements BeforeEnterObserver {
         nav.addItem(new SideNavItem("Board", "/board"));
         nav.addItem(new SideNavItem("Profile", "/profile"));
 
-        final var currentUser = (UserDto) VaadinSession.getCurrent().getAttribute("user");
-        if (currentUser != null && currentUser.roles().stream()
-                .anyMatch(r -> "ADMIN".equals(r.name()))) {
+        final var currentUser = SessionUser.current();
+        if (currentUser != null && currentUser.isAdmin()) {
             nav.addItem(new SideNavItem("User Management", "/admin/users"));
         }
 
@@ -130,7 +133,7 @@ public class MainLayout extends AppLayout implements BeforeEnterObserver {
         themeButton.setAriaLabel("Toggle theme");
 
         this.logoutButton = new Button("Logout", event -> {
-            VaadinSession.getCurrent().setAttribute("user", null);
+            this.sessionRegistry.logout(VaadinSession.getCurrent());
             this.getUI().ifPresent(ui -> ui.navigate("login"));
         });
 
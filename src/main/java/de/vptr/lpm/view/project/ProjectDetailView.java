@@ -14,6 +14,8 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 
 import de.vptr.lpm.dto.ProjectDto;
+import de.vptr.lpm.security.ProjectAuthorizationService;
+import de.vptr.lpm.security.SessionUser;
 import de.vptr.lpm.service.ProjectService;
 import de.vptr.lpm.view.MainLayout;
 import jakarta.inject.Inject;
@@ -29,6 +31,9 @@ public class ProjectDetailView extends VerticalLayout implements BeforeEnterObse
     @Inject
     transient ProjectService projectService;
 
+    @Inject
+    transient ProjectAuthorizationService authorizationService;
+
     private ProjectDto project;
     private final VerticalLayout contentArea = new VerticalLayout();
 
@@ -39,6 +44,12 @@ public class ProjectDetailView extends VerticalLayout implements BeforeEnterObse
 
     @Override
     public void beforeEnter(final BeforeEnterEvent event) {
+        final var currentUser = SessionUser.current();
+        if (currentUser == null) {
+            event.rerouteTo("login");
+            return;
+        }
+
         final var projectIdParam = event.getRouteParameters().get("projectId");
         if (projectIdParam.isEmpty()) {
             event.rerouteTo("projects");
@@ -47,7 +58,9 @@ public class ProjectDetailView extends VerticalLayout implements BeforeEnterObse
 
         try {
             final var projectId = Long.parseLong(projectIdParam.get());
-            final var projectOpt = this.projectService.findById(projectId);
+            final var access = this.authorizationService.accessFor(currentUser);
+            final var projectOpt = this.projectService.findById(projectId)
+                    .filter(project -> access.canView(project.id()));
             if (projectOpt.isEmpty()) {
                 event.rerouteTo("projects");
                 return;
@@ -12,9 +12,10 @@ import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import com.vaadin.flow.server.VaadinSession;
 
 import de.vptr.lpm.dto.ProjectDto;
+import de.vptr.lpm.security.ProjectAuthorizationService;
+import de.vptr.lpm.security.SessionUser;
 import de.vptr.lpm.service.ProjectService;
 import de.vptr.lpm.view.MainLayout;
 import jakarta.inject.Inject;
@@ -29,6 +30,9 @@ public class ProjectListView extends VerticalLayout implements BeforeEnterObserv
     @Inject
     transient ProjectService projectService;
 
+    @Inject
+    transient ProjectAuthorizationService authorizationService;
+
     private Grid<ProjectDto> grid;
     private ListDataProvider<ProjectDto> dataProvider;
     private boolean initialized = false;
@@ -47,17 +51,17 @@ public class ProjectListView extends VerticalLayout implements BeforeEnterObserv
             return;
         }
 
-        final var currentUser = (de.vptr.lpm.dto.UserDto) VaadinSession.getCurrent().getAttribute("user");
+        final var currentUser = SessionUser.current();
         if (currentUser == null) {
             event.forwardTo("login");
             return;
         }
 
-        this.initializeContent();
+        this.initializeContent(currentUser);
         this.initialized = true;
     }
 
-    private void initializeContent() {
+    private void initializeContent(final SessionUser currentUser) {
 
         // Header with title and create button
         final var header = new HorizontalLayout();
@@ -91,7 +95,8 @@ public class ProjectListView extends VerticalLayout implements BeforeEnterObserv
         this.grid.addColumn(ProjectDto::memberCount).setHeader("Members");
         this.grid.addThemeVariants(GridVariant.LUMO_ROW_STRIPES);
 
-        this.dataProvider = new ListDataProvider<>(this.projectService.listAll());
+        this.dataProvider = new ListDataProvider<>(
+                this.projectService.listAccessible(this.authorizationService.accessFor(currentUser)));
         this.grid.setDataProvider(this.dataProvider);
 
         this.grid.asSingleSelect().addValueChangeListener(event -> {
@@ -123,7 +128,7 @@ public class ProjectListView extends VerticalLayout implements BeforeEnterObserv
                 return;
             }
             try {
-                final var currentUser = (de.vptr.lpm.dto.UserDto) VaadinSession.getCurrent().getAttribute("user");
+                final var currentUser = SessionUser.current();
                 this.projectService.createProject(
                         nameField.getValue(),
                         keyField.getValue(),
@@ -16,6 +16,8 @@ import com.vaadin.flow.router.*;
 import de.vptr.lpm.dto.ProjectDto;
 import de.vptr.lpm.dto.ProjectMemberDto;
 import de.vptr.lpm.dto.UserDto;
+import de.vptr.lpm.security.ProjectAuthorizationService;
+import de.vptr.lpm.security.SessionUser;
 import de.vptr.lpm.service.ProjectMemberService;
 import de.vptr.lpm.service.ProjectService;
 import de.vptr.lpm.service.UserService;
@@ -35,6 +37,9 @@ public class ProjectMembersView extends VerticalLayout
     @Inject
     ProjectService projectService;
 
+    @Inject
+    ProjectAuthorizationService authorizationService;
+
     @Inject
     ProjectMemberService projectMemberService;
 
@@ -42,13 +47,13 @@ public class ProjectMembersView extends VerticalLayout
     UserService userService;
 
     private ProjectDto currentProject;
-    private UserDto currentUser;
+    private SessionUser currentUser;
     private Grid<ProjectMemberDto> grid;
     private ListDataProvider<ProjectMemberDto> dataProvider;
 
     @Override
     public void beforeEnter(final BeforeEnterEvent event) {
-        this.currentUser = (UserDto) event.getUI().getSession().getAttribute("user");
+        this.currentUser = SessionUser.current();
         if (this.currentUser == null) {
             event.forwardTo("login");
             return;
@@ -59,7 +64,9 @@ public class ProjectMembersView extends VerticalLayout
     public void setParameter(final com.vaadin.flow.router.BeforeEvent event, final String projectId) {
         try {
             final var id = Long.parseLong(projectId);
-            this.currentProject = this.projectService.findById(id).orElse(null);
+            this.currentProject = this.projectService.findById(id)
+                    .filter(project -> this.canManage(project.id()))
+                    .orElse(null);
             if (this.currentProject == null) {
                 event.forwardTo("projects");
                 return;
@@ -70,6 +77,12 @@ public class ProjectMembersView extends VerticalLayout
         }
     }
 
+    private boolean canManage(final Long projectId) {
+        // setParameter runs before beforeEnter, so the session user is read here
+        final var user = SessionUser.current();
+        return user != null && this.authorizationService.accessFor(user).canManage(projectId);
+    }
+
     private void initializeContent() {
         this.setSpacing(true);
         this.setPadding(true);
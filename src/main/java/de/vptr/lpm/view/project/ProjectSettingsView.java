@@ -13,8 +13,9 @@ import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.router.*;
 
 import de.vptr.lpm.dto.ProjectDto;
-import de.vptr.lpm.dto.UserDto;
 import de.vptr.lpm.entity.ProjectStatus;
+import de.vptr.lpm.security.ProjectAuthorizationService;
+import de.vptr.lpm.security.SessionUser;
 import de.vptr.lpm.service.ProjectService;
 import de.vptr.lpm.view.MainLayout;
 import jakarta.annotation.security.PermitAll;
@@ -32,12 +33,15 @@ public class ProjectSettingsView extends VerticalLayout
     @Inject
     ProjectService projectService;
 
+    @Inject
+    ProjectAuthorizationService authorizationService;
+
     private ProjectDto currentProject;
-    private UserDto currentUser;
+    private SessionUser currentUser;
 
     @Override
     public void beforeEnter(final BeforeEnterEvent event) {
-        this.currentUser = (UserDto) event.getUI().getSession().getAttribute("user");
+        this.currentUser = SessionUser.current();
         if (this.currentUser == null) {
             event.forwardTo("login");
             return;
@@ -48,7 +52,9 @@ public class ProjectSettingsView extends VerticalLayout
     public void setParameter(final com.vaadin.flow.router.BeforeEvent event, final String projectId) {
         try {
             final var id = Long.parseLong(projectId);
-            this.currentProject = this.projectService.findById(id).orElse(null);
+            this.currentProject = this.projectService.findById(id)
+                    .filter(project -> this.canManage(project.id()))
+                    .orElse(null);
             if (this.currentProject == null) {
                 event.forwardTo("projects");
                 return;
@@ -59,6 +65,12 @@ public class ProjectSettingsView extends VerticalLayout
         }
     }
 
+    private boolean canManage(final Long projectId) {
+        // setParameter runs before beforeEnter, so the session user is read here
+        final var user = SessionUser.current();
+        return user != null && this.authorizationService.accessFor(user).canManage(projectId);
+    }
+
     private void initializeContent() {
         this.setSpacing(true);
         this.setPadding(true);
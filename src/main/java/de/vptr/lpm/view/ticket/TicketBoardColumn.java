@@ -0,0 +1,170 @@
+package de.vptr.lpm.view.ticket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.vaadin.flow.component.html.H4;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.virtuallist.VirtualList;
+import com.vaadin.flow.data.renderer.ComponentRenderer;
+
+import de.vptr.lpm.dto.TicketBoardColumnDto;
+import de.vptr.lpm.dto.TicketDto;
+import de.vptr.lpm.service.TicketService;
+
+/**
+ * One status column of the ticket board. Shows the first page of cards from
+ * the board query, fetches further pages as the list is scrolled and accepts
+ * single-card changes without reloading the column.
+ */
+public class TicketBoardColumn extends VerticalLayout {
+
+    private final transient TicketService ticketService;
+    private final Long projectId;
+    private final Long statusId;
+    private final String statusName;
+    private final List<TicketDto> loadedTickets;
+    private long ticketCount;
+
+    private final H4 statusTitle = new H4();
+    private final VirtualList<TicketDto> ticketsList = new VirtualList<>();
+
+    /**
+     * Creates a board column.
+     *
+     * @param ticketService the ticket service used to fetch further cards
+     * @param projectId     the project ID of the board
+     * @param boardColumn   the column data from the board query
+     */
+    public TicketBoardColumn(final TicketService ticketService, final Long projectId,
+            final TicketBoardColumnDto boardColumn) {
+        this.ticketService = ticketService;
+        this.projectId = projectId;
+        this.statusId = boardColumn.statusId();
+        this.statusName = boardColumn.statusName();
+        this.loadedTickets = new ArrayList<>(boardColumn.tickets());
+        this.ticketCount = boardColumn.ticketCount();
+
+        this.setWidthFull();
+        this.getStyle().set("border", "1px solid var(--lumo-contrast-20pct)")
+                .set("border-radius", "4px")
+                .set("padding", "12px")
+                .set("background-color", "var(--lumo-base-color)");
+
+        this.statusTitle.getStyle().set("margin-top", "0");
+
+        // Further cards are fetched page by page as the column is scrolled
+        this.ticketsList.setHeight("70vh");
+        this.ticketsList.setRenderer(new ComponentRenderer<>(this::createTicketCard));
+        this.ticketsList.setItems(
+                query -> this.fetch(query.getOffset(), query.getLimit()).stream(),
+                query -> (int) this.ticketCount)
+                .setIdentifierProvider(TicketDto::id);
+
+        this.updateTitle();
+        this.add(this.statusTitle, this.ticketsList);
+    }
+
+    /**
+     * Gets the ticket status shown in this column.
+     *
+     * @return the ticket status ID
+     */
+    public Long getStatusId() {
+        return this.statusId;
+    }
+
+    /**
+     * Add a ticket that entered this status.
+     *
+     * @param ticket the ticket
+     */
+    public void addTicket(final TicketDto ticket) {
+        // Cards are ordered newest first; a ticket beyond the loaded page is
+        // picked up from the database when the user scrolls there
+        final var fullyLoaded = this.loadedTickets.size() >= this.ticketCount;
+        var index = 0;
+        while (index < this.loadedTickets.size() && this.loadedTickets.get(index).id() > ticket.id()) {
+            index++;
+        }
+        if (fullyLoaded || index < this.loadedTickets.size()) {
+            this.loadedTickets.add(index, ticket);
+        }
+        this.ticketCount++;
+        this.refresh();
+    }
+
+    /**
+     * Remove a ticket that left this status.
+     *
+     * @param ticketId the ticket ID
+     */
+    public void removeTicket(final Long ticketId) {
+        this.loadedTickets.removeIf(t -> t.id().equals(ticketId));
+        this.ticketCount = Math.max(0, this.ticketCount - 1);
+        this.refresh();
+    }
+
+    /**
+     * Re-render a ticket whose card content changed.
+     *
+     * @param ticket the updated ticket
+     */
+    public void updateTicket(final TicketDto ticket) {
+        this.loadedTickets.replaceAll(t -> t.id().equals(ticket.id()) ? ticket : t);
+        this.ticketsList.getDataProvider().refreshItem(ticket);
+    }
+
+    private List<TicketDto> fetch(final int offset, final int limit) {
+        final var end = offset + limit;
+        if (end <= this.loadedTickets.size() || this.loadedTickets.size() >= this.ticketCount) {
+            final var size = this.loadedTickets.size();
+            return this.loadedTickets.subList(Math.min(offset, size), Math.min(end, size));
+        }
+        return this.ticketService.findBoardCards(this.projectId, this.statusId, offset, limit);
+    }
+
+    private void refresh() {
+        this.updateTitle();
+        this.ticketsList.getDataProvider().refreshAll();
+    }
+
+    private void updateTitle() {
+        this.statusTitle.setText(this.statusName + " (" + this.ticketCount + ")");
+    }
+
+    private VerticalLayout createTicketCard(final TicketDto ticket) {
+        final var card = new VerticalLayout();
+        card.getStyle()
+                .set("background-color", "var(--lumo-secondary-text-color)")
+                .set("border-radius", "4px")
+                .set("padding", "12px")
+                .set("cursor", "pointer");
+
+        final var key = new Span(ticket.ticketKey());
+        key.getStyle().set("font-weight", "bold")
+                .set("font-size", "12px")
+                .set("color", "var(--lumo-primary-text-color)");
+
+        final var cardTitle = new Span(ticket.title());
+        cardTitle.getStyle().set("word-wrap", "break-word")
+                .set("white-space", "normal");
+
+        card.add(key, cardTitle);
+        if (ticket.commentCount() > 0) {
+            final var comments = new Span(
+                    ticket.commentCount() == 1 ? "1 comment" : ticket.commentCount() + " comments");
+            comments.getStyle().set("font-size", "12px");
+            card.add(comments);
+        }
+        card.setSpacing(false);
+        card.setPadding(false);
+
+        card.addClickListener(e -> {
+            this.getUI().ifPresent(ui -> ui.navigate("tickets/" + ticket.id()));
+        });
+
+        return card;
+    }
+}
@@ -1,14 +1,21 @@
 package de.vptr.lpm.view.ticket;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 
+import com.vaadin.flow.component.AttachEvent;
+import com.vaadin.flow.component.DetachEvent;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.formlayout.FormLayout;
 import com.vaadin.flow.component.html.H2;
-import com.vaadin.flow.component.html.H4;
 import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
@@ -17,11 +24,13 @@ import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.shared.Registration;
 
 import de.vptr.lpm.dto.ProjectDto;
-import de.vptr.lpm.dto.TicketDto;
-import de.vptr.lpm.dto.UserDto;
-import de.vptr.lpm.entity.TicketStatus;
+import de.vptr.lpm.event.TicketChangeBroadcaster;
+import de.vptr.lpm.event.TicketChangeEvent;
+import de.vptr.lpm.security.ProjectAuthorizationService;
+import de.vptr.lpm.security.SessionUser;
 import de.vptr.lpm.service.ProjectService;
 import de.vptr.lpm.service.TicketService;
 import de.vptr.lpm.view.MainLayout;
@@ -36,17 +45,52 @@ import jakarta.inject.Inject;
 @PermitAll
 public class TicketBoardView extends VerticalLayout implements BeforeEnterObserver {
 
+    /**
+     * Number of cards loaded per column and per scroll page.
+     */
+    private static final int CARDS_PER_PAGE = 25;
+
     @Inject
     TicketService ticketService;
 
     @Inject
     ProjectService projectService;
 
-    private UserDto currentUser;
+    @Inject
+    TicketChangeBroadcaster changeBroadcaster;
+
+    @Inject
+    ProjectAuthorizationService authorizationService;
+
+    private SessionUser currentUser;
+    private Select<ProjectDto> projectSelect;
+    private final HorizontalLayout boardContainer = new HorizontalLayout();
+    private final Map<Long, TicketBoardColumn> columns = new HashMap<>();
+
+    private volatile Long boardProjectId;
+    private final Map<Long, TicketChangeEvent> pendingChanges = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    private Registration changeRegistration;
+
+    @Override
+    protected void onAttach(final AttachEvent attachEvent) {
+        super.onAttach(attachEvent);
+        final var ui = attachEvent.getUI();
+        this.changeRegistration = this.changeBroadcaster.register(event -> this.onTicketChange(ui, event));
+    }
+
+    @Override
+    protected void onDetach(final DetachEvent detachEvent) {
+        if (this.changeRegistration != null) {
+            this.changeRegistration.remove();
+            this.changeRegistration = null;
+        }
+        super.onDetach(detachEvent);
+    }
 
     @Override
     public void beforeEnter(final BeforeEnterEvent event) {
-        this.currentUser = (UserDto) event.getUI().getSession().getAttribute("user");
+        this.currentUser = SessionUser.current();
         if (this.currentUser == null) {
             event.forwardTo("login");
             return;
@@ -55,6 +99,7 @@ public class TicketBoardView extends VerticalLayout implements BeforeEnterObserv
     }
 
     private void initializeContent() {
+        this.removeAll();
         this.setSpacing(true);
         this.setPadding(true);
 
@@ -63,79 +108,102 @@ public class TicketBoardView extends VerticalLayout implements BeforeEnterObserv
         final var createButton = new Button("Create Ticket");
         createButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
         createButton.addClickListener(e -> this.openTicketDialog());
-        header.add(title, createButton);
 
-        final var boardContainer = new HorizontalLayout();
-        boardContainer.setWidthFull();
-        boardContainer.setSpacing(true);
+        this.projectSelect = new Select<>();
+        this.projectSelect.setLabel("Project");
+        this.projectSelect.setItemLabelGenerator(ProjectDto::name);
+        final var projects = this.projectService.listAccessible(
+                this.authorizationService.accessFor(this.currentUser));
+        this.projectSelect.setItems(projects);
+        if (!projects.isEmpty()) {
+            this.projectSelect.setValue(projects.get(0));
+        }
+        this.projectSelect.addValueChangeListener(e -> this.refreshBoard());
+        header.add(title, this.projectSelect, createButton);
+        header.setDefaultVerticalComponentAlignment(Alignment.BASELINE);
+
+        this.boardContainer.setWidthFull();
+        this.boardContainer.setSpacing(true);
+
+        this.add(header, this.boardContainer);
+        this.refreshBoard();
+    }
 
-        // Get all statuses and create columns
-        final var statuses = TicketStatus.<TicketStatus>listAll();
-        final var tickets = this.ticketService.listAll();
+    private void refreshBoard() {
+        this.boardContainer.removeAll();
+        this.columns.clear();
 
-        for (final var status : statuses) {
-            final var column = this.createStatusColumn(status, tickets);
-            boardContainer.add(column);
+        final var project = this.projectSelect.getValue();
+        this.boardProjectId = project != null ? project.id() : null;
+        if (project == null) {
+            this.boardContainer.add(new Span("No project selected"));
+            return;
         }
 
-        this.add(header, boardContainer);
+        // One grouped query loads every column's count and first page of cards
+        for (final var boardColumn : this.ticketService.loadBoard(project.id(), CARDS_PER_PAGE)) {
+            final var column = new TicketBoardColumn(this.ticketService, project.id(), boardColumn);
+            this.columns.put(column.getStatusId(), column);
+            this.boardContainer.add(column);
+        }
     }
 
-    private VerticalLayout createStatusColumn(final TicketStatus status, final List<TicketDto> allTickets) {
-        final var column = new VerticalLayout();
-        column.setWidthFull();
-        column.getStyle().set("border", "1px solid var(--lumo-contrast-20pct)")
-                .set("border-radius", "4px")
-                .set("padding", "12px")
-                .set("background-color", "var(--lumo-base-color)");
-
-        final var statusTitle = new H4(status.name);
-        statusTitle.getStyle().set("margin-top", "0");
-
-        // Filter tickets by status
-        final var ticketsInStatus = allTickets.stream()
-                .filter(t -> status.id.equals(t.statusId()))
-                .collect(Collectors.toList());
-
-        final var ticketsContainer = new VerticalLayout();
-        ticketsContainer.setSpacing(true);
-        ticketsContainer.setPadding(false);
-
-        for (final var ticket : ticketsInStatus) {
-            final var card = this.createTicketCard(ticket);
-            ticketsContainer.add(card);
+    private void onTicketChange(final UI ui, final TicketChangeEvent event) {
+        // Called on the committing thread: only queue the change and make sure a
+        // single UI access is scheduled to apply everything queued so far
+        if (!event.projectId().equals(this.boardProjectId)) {
+            return;
         }
-
-        column.add(statusTitle, ticketsContainer);
-        return column;
+        synchronized (this.pendingChanges) {
+            final var pending = this.pendingChanges.remove(event.ticketId());
+            final var merged = pending != null ? pending.coalesce(event) : event;
+            if (merged != null) {
+                this.pendingChanges.put(event.ticketId(), merged);
+            }
+            if (this.flushScheduled) {
+                return;
+            }
+            this.flushScheduled = true;
+        }
+        ui.access(this::applyPendingChanges);
     }
 
-    private VerticalLayout createTicketCard(final TicketDto ticket) {
-        final var card = new VerticalLayout();
-        card.getStyle()
-                .set("background-color", "var(--lumo-secondary-text-color)")
-                .set("border-radius", "4px")
-                .set("padding", "12px")
-                .set("cursor", "pointer");
-
-        final var key = new Span(ticket.ticketKey());
-        key.getStyle().set("font-weight", "bold")
-                .set("font-size", "12px")
-                .set("color", "var(--lumo-primary-text-color)");
-
-        final var cardTitle = new Span(ticket.title());
-        cardTitle.getStyle().set("word-wrap", "break-word")
-                .set("white-space", "normal");
-
-        card.add(key, cardTitle);
-        card.setSpacing(false);
-        card.setPadding(false);
-
-        card.addClickListener(e -> {
-            this.getUI().ifPresent(ui -> ui.navigate("tickets/" + ticket.id()));
-        });
+    private void applyPendingChanges() {
+        final List<TicketChangeEvent> changes;
+        synchronized (this.pendingChanges) {
+            changes = new ArrayList<>(this.pendingChanges.values());
+            this.pendingChanges.clear();
+            this.flushScheduled = false;
+        }
+
+        for (final var change : changes) {
+            if (!change.projectId().equals(this.boardProjectId)) {
+                continue;
+            }
+            switch (change.type()) {
+                case CREATED -> this.findColumn(change.ticket().statusId())
+                        .ifPresent(column -> column.addTicket(change.ticket()));
+                case DELETED -> this.findColumn(change.previousStatusId())
+                        .ifPresent(column -> column.removeTicket(change.ticketId()));
+                case UPDATED -> {
+                    final var statusId = change.ticket().statusId();
+                    if (Objects.equals(statusId, change.previousStatusId())) {
+                        this.findColumn(statusId).ifPresent(column -> column.updateTicket(change.ticket()));
+                    } else {
+                        this.findColumn(change.previousStatusId())
+                                .ifPresent(column -> column.removeTicket(change.ticketId()));
+                        this.findColumn(statusId).ifPresent(column -> column.addTicket(change.ticket()));
+                    }
+                }
+                default -> {
+                    // No other change types
+                }
+            }
+        }
+    }
 
-        return card;
+    private Optional<TicketBoardColumn> findColumn(final Long statusId) {
+        return statusId != null ? Optional.ofNullable(this.columns.get(statusId)) : Optional.empty();
     }
 
     private void openTicketDialog() {
@@ -148,8 +216,10 @@ public class TicketBoardView extends VerticalLayout implements BeforeEnterObserv
 
         final var projectSelect = new Select<ProjectDto>();
         projectSelect.setLabel("Project");
-        projectSelect.setItems(this.projectService.listAll());
+        projectSelect.setItems(this.projectService.listAccessible(
+                this.authorizationService.accessFor(this.currentUser)));
         projectSelect.setItemLabelGenerator(ProjectDto::name);
+        projectSelect.setValue(this.projectSelect.getValue());
         projectSelect.setWidthFull();
 
         final var saveButton = new Button("Create");
@@ -161,10 +231,8 @@ public class TicketBoardView extends VerticalLayout implements BeforeEnterObserv
                 projectSelect.setInvalid(true);
                 return;
             }
-            new TicketFormDialog(null, projectSelect.getValue().id(), this.currentUser.id(), () -> {
-                this.initializeContent();
-                dialog.close();
-            }).open();
+            // The board picks up the new ticket through its change listener
+            new TicketFormDialog(null, projectSelect.getValue().id(), this.currentUser.id(), dialog::close).open();
         });
 
         form.add(projectSelect);
@@ -2,17 +2,25 @@ package de.vptr.lpm.view.ticket;
 
 import java.time.format.DateTimeFormatter;
 
+import com.vaadin.flow.component.Html;
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
 import com.vaadin.flow.component.formlayout.FormLayout;
 import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.H3;
 import com.vaadin.flow.component.html.Paragraph;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.router.*;
 
+import de.vptr.lpm.component.comment.CommentThread;
+import de.vptr.lpm.component.feed.ActivityFeed;
 import de.vptr.lpm.dto.TicketDto;
-import de.vptr.lpm.dto.UserDto;
+import de.vptr.lpm.security.ProjectAuthorizationService;
+import de.vptr.lpm.security.SessionUser;
+import de.vptr.lpm.service.ActivityLogService;
+import de.vptr.lpm.service.CommentService;
+import de.vptr.lpm.service.MarkdownRenderService;
 import de.vptr.lpm.service.TicketService;
 import de.vptr.lpm.view.MainLayout;
 import jakarta.annotation.security.PermitAll;
@@ -27,15 +35,30 @@ import jakarta.inject.Inject;
 public class TicketDetailView extends VerticalLayout
         implements BeforeEnterObserver, HasUrlParameter<String> {
 
+    private static final int FEED_PAGE_SIZE = 50;
+    private static final int COMMENT_PAGE_SIZE = 20;
+
     @Inject
     TicketService ticketService;
 
+    @Inject
+    ActivityLogService activityLogService;
+
+    @Inject
+    CommentService commentService;
+
+    @Inject
+    MarkdownRenderService markdownRenderService;
+
+    @Inject
+    ProjectAuthorizationService authorizationService;
+
     private TicketDto currentTicket;
-    private UserDto currentUser;
+    private SessionUser currentUser;
 
     @Override
     public void beforeEnter(final BeforeEnterEvent event) {
-        this.currentUser = (UserDto) event.getUI().getSession().getAttribute("user");
+        this.currentUser = SessionUser.current();
         if (this.currentUser == null) {
             event.forwardTo("login");
             return;
@@ -46,7 +69,9 @@ public class TicketDetailView extends VerticalLayout
     public void setParameter(final com.vaadin.flow.router.BeforeEvent event, final String ticketId) {
         try {
             final var id = Long.parseLong(ticketId);
-            this.currentTicket = this.ticketService.findById(id).orElse(null);
+            this.currentTicket = this.ticketService.findById(id)
+                    .filter(ticket -> this.canView(ticket.projectId()))
+                    .orElse(null);
             if (this.currentTicket == null) {
                 event.forwardTo("tickets");
                 return;
@@ -57,6 +82,12 @@ public class TicketDetailView extends VerticalLayout
         }
     }
 
+    private boolean canView(final Long projectId) {
+        // setParameter runs before beforeEnter, so the session user is read here
+        final var user = SessionUser.current();
+        return user != null && this.authorizationService.accessFor(user).canView(projectId);
+    }
+
     private void initializeContent() {
         this.setSpacing(true);
         this.setPadding(true);
@@ -71,7 +102,7 @@ public class TicketDetailView extends VerticalLayout
                 new FormLayout.ResponsiveStep("0", 1),
                 new FormLayout.ResponsiveStep("500px", 2));
 
-        form.addFormItem(this.createReadOnlyField(this.currentTicket.description()),
+        form.addFormItem(new Html(this.markdownRenderService.renderDescription(this.currentTicket)),
                 "Description");
         form.addFormItem(this.createReadOnlyField(this.currentTicket.typeName()),
                 "Type");
@@ -109,7 +140,19 @@ public class TicketDetailView extends VerticalLayout
 
         actions.add(editButton, deleteButton);
 
-        this.add(backButton, title, form, actions);
+        final var ticketId = this.currentTicket.id();
+        final var activityFeed = new ActivityFeed(
+                (cursor, limit) -> this.activityLogService.findByEntityBefore("Ticket", ticketId, cursor, limit),
+                FEED_PAGE_SIZE);
+        activityFeed.setHeight("300px");
+
+        final var commentThread = new CommentThread(
+                (before, limit) -> this.commentService.findPageByTicket(ticketId, before, limit),
+                COMMENT_PAGE_SIZE,
+                this.markdownRenderService::renderComment);
+        commentThread.setHeight("400px");
+
+        this.add(backButton, title, form, actions, commentThread, new H3("Activity"), activityFeed);
     }
 
     private Paragraph createReadOnlyField(final String value) {
@@ -1,23 +1,47 @@
 package de.vptr.lpm.view.ticket;
 
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 import com.vaadin.flow.component.button.Button;
 import com.vaadin.flow.component.button.ButtonVariant;
+import com.vaadin.flow.component.checkbox.Checkbox;
 import com.vaadin.flow.component.dialog.Dialog;
 import com.vaadin.flow.component.formlayout.FormLayout;
 import com.vaadin.flow.component.grid.Grid;
 import com.vaadin.flow.component.grid.GridVariant;
+import com.vaadin.flow.component.html.Anchor;
 import com.vaadin.flow.component.html.H2;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.notification.Notification;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
+import com.vaadin.flow.component.select.Select;
 import com.vaadin.flow.component.textfield.TextField;
-import com.vaadin.flow.data.provider.ListDataProvider;
+import com.vaadin.flow.data.renderer.ComponentRenderer;
+import com.vaadin.flow.data.renderer.LocalDateTimeRenderer;
+import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
+import com.vaadin.flow.server.streams.DownloadHandler;
 
 import de.vptr.lpm.dto.TicketDto;
+import de.vptr.lpm.dto.TicketFilter;
+import de.vptr.lpm.dto.TicketPriorityDto;
+import de.vptr.lpm.dto.TicketSearchResultDto;
+import de.vptr.lpm.dto.TicketStatusDto;
 import de.vptr.lpm.dto.UserDto;
+import de.vptr.lpm.enums.ExportFormat;
+import de.vptr.lpm.security.ProjectAuthorizationService;
+import de.vptr.lpm.security.SessionUser;
+import de.vptr.lpm.service.TicketExportService;
 import de.vptr.lpm.service.TicketService;
 import de.vptr.lpm.service.UserService;
 import de.vptr.lpm.view.MainLayout;
@@ -38,17 +62,29 @@ public class TicketListView extends VerticalLayout implements BeforeEnterObserve
     @Inject
     UserService userService;
 
+    @Inject
+    TicketExportService ticketExportService;
+
+    @Inject
+    ProjectAuthorizationService authorizationService;
+
     private Grid<TicketDto> grid;
-    private ListDataProvider<TicketDto> dataProvider;
-    private UserDto currentUser;
+    private volatile TicketFilter filter = TicketFilter.empty();
+    private volatile boolean exportComments;
+    private SessionUser currentUser;
+    private Grid.Column<TicketDto> snippetColumn;
+    private final Map<Long, String> snippets = new HashMap<>();
 
     @Override
     public void beforeEnter(final BeforeEnterEvent event) {
-        this.currentUser = (UserDto) event.getUI().getSession().getAttribute("user");
+        this.currentUser = SessionUser.current();
         if (this.currentUser == null) {
             event.forwardTo("login");
             return;
         }
+        // Every query of this view, including search and export, only sees accessible projects
+        this.filter = TicketFilter.empty()
+                .withProjectIds(this.authorizationService.accessFor(this.currentUser).projectIds());
         this.initializeContent();
     }
 
@@ -62,40 +98,191 @@ public class TicketListView extends VerticalLayout implements BeforeEnterObserve
         final var createButton = new Button("Create Ticket");
         createButton.addThemeVariants(ButtonVariant.LUMO_PRIMARY);
         createButton.addClickListener(e -> this.openTicketDialog(null));
-        header.add(title, createButton);
+        header.add(title, createButton, this.createExportActions());
 
         // Search field
         final var searchField = new TextField("Search tickets...");
-        searchField.setPlaceholder("Search by title or key");
+        searchField.setPlaceholder("Search by key, title or description");
         searchField.setWidthFull();
+        searchField.setValueChangeMode(ValueChangeMode.LAZY);
         searchField.addValueChangeListener(event -> {
-            final var filter = event.getValue().toLowerCase();
-            this.dataProvider.setFilter(
-                    ticket -> (ticket.title() == null ? "" : ticket.title().toLowerCase()).contains(filter) ||
-                            (ticket.ticketKey() == null ? "" : ticket.ticketKey().toLowerCase()).contains(filter));
+            this.filter = this.filter.withSearchText(event.getValue());
+            this.snippets.clear();
+            this.snippetColumn.setVisible(this.filter.hasSearchText());
+            this.updateSortable(!this.filter.hasSearchText());
+            this.grid.getDataProvider().refreshAll();
         });
 
         // Grid
         this.grid = new Grid<>(TicketDto.class, false);
-        this.grid.addColumn(TicketDto::ticketKey).setHeader("Key");
-        this.grid.addColumn(TicketDto::title).setHeader("Title");
-        this.grid.addColumn(TicketDto::typeName).setHeader("Type");
-        this.grid.addColumn(TicketDto::statusName).setHeader("Status");
-        this.grid.addColumn(TicketDto::priorityName).setHeader("Priority");
-        this.grid.addColumn(TicketDto::assigneeName).setHeader("Assignee");
+        this.grid.addColumn(TicketDto::ticketKey).setHeader("Key").setSortProperty("ticketKey");
+        this.grid.addColumn(TicketDto::title).setHeader("Title").setSortProperty("title");
+        this.grid.addColumn(TicketDto::typeName).setHeader("Type").setSortProperty("type");
+        this.grid.addColumn(TicketDto::statusName).setHeader("Status").setSortProperty("status");
+        this.grid.addColumn(TicketDto::priorityName).setHeader("Priority").setSortProperty("priority");
+        this.grid.addColumn(TicketDto::assigneeName).setHeader("Assignee").setSortProperty("assignee");
+        this.grid.addColumn(TicketDto::commentCount).setHeader("Comments").setSortProperty("commentCount");
+        this.grid.addColumn(new LocalDateTimeRenderer<>(TicketDto::lastActivityAt, "yyyy-MM-dd HH:mm"))
+                .setHeader("Last activity")
+                .setSortProperty("lastActivityAt");
+        this.snippetColumn = this.grid.addColumn(new ComponentRenderer<>(this::createSnippet))
+                .setHeader("Match")
+                .setFlexGrow(2)
+                .setVisible(false);
         this.grid.addThemeVariants(GridVariant.LUMO_ROW_STRIPES);
 
-        this.dataProvider = new ListDataProvider<>(this.ticketService.listAll());
-        this.grid.setDataProvider(this.dataProvider);
+        // Only the visible window is fetched; filtering and sorting run in the database.
+        // Search text switches to the full-text index, which orders by relevance.
+        this.grid.setItems(
+                query -> {
+                    if (this.filter.hasSearchText()) {
+                        return this.search(query.getOffset(), query.getLimit());
+                    }
+                    return this.ticketService.query(
+                            this.filter, query.getSortOrders(), query.getOffset(), query.getLimit()).stream();
+                },
+                query -> (int) (this.filter.hasSearchText()
+                        ? this.ticketService.countSearch(this.filter)
+                        : this.ticketService.count(this.filter)));
+
+        this.grid.setSelectionMode(Grid.SelectionMode.MULTI);
+        this.grid.addItemClickListener(event -> this.getUI()
+                .ifPresent(ui -> ui.navigate("tickets/" + event.getItem().id())));
+
+        this.add(header, searchField, this.createBulkActions(), this.grid);
+    }
+
+    private void updateSortable(final boolean sortable) {
+        // Search results are ordered by relevance, so column sorting is offered only without search text
+        if (!sortable) {
+            this.grid.sort(List.of());
+        }
+        this.grid.getColumns().stream()
+                .filter(column -> column != this.snippetColumn)
+                .forEach(column -> column.setSortable(sortable));
+    }
+
+    private HorizontalLayout createExportActions() {
+        final var commentsCheckbox = new Checkbox("Include comments");
+        commentsCheckbox.addValueChangeListener(event -> this.exportComments = event.getValue());
+
+        final var exports = new HorizontalLayout(commentsCheckbox);
+        exports.setDefaultVerticalComponentAlignment(Alignment.CENTER);
+        for (final var format : ExportFormat.values()) {
+            final var anchor = new Anchor(this.createExportHandler(format), "Export " + format.name());
+            anchor.setRouterIgnore(true);
+            exports.add(anchor);
+        }
+        return exports;
+    }
+
+    private DownloadHandler createExportHandler(final ExportFormat format) {
+        // Runs outside the UI thread, so only the volatile filter state is read here
+        return event -> {
+            event.setFileName("tickets." + format.getFileExtension());
+            event.setContentType(format.getContentType());
+            this.ticketExportService.export(this.filter, format, this.exportComments, event.getOutputStream());
+        };
+    }
+
+    private HorizontalLayout createBulkActions() {
+        final var assigneeSelect = new Select<UserDto>();
+        assigneeSelect.setPlaceholder("Assign to...");
+        assigneeSelect.setItems(this.userService.listAll());
+        assigneeSelect.setItemLabelGenerator(UserDto::displayName);
 
-        this.grid.asSingleSelect().addValueChangeListener(event -> {
-            final var ticket = event.getValue();
-            if (ticket != null) {
-                this.getUI().ifPresent(ui -> ui.navigate("tickets/" + ticket.id()));
+        final var statusSelect = new Select<TicketStatusDto>();
+        statusSelect.setPlaceholder("Set status...");
+        statusSelect.setItems(this.ticketService.listStatuses());
+        statusSelect.setItemLabelGenerator(TicketStatusDto::name);
+
+        final var prioritySelect = new Select<TicketPriorityDto>();
+        prioritySelect.setPlaceholder("Set priority...");
+        prioritySelect.setItems(this.ticketService.listPriorities());
+        prioritySelect.setItemLabelGenerator(TicketPriorityDto::name);
+
+        assigneeSelect.addValueChangeListener(event -> {
+            if (event.isFromClient() && event.getValue() != null) {
+                this.applyBulkChange(ids -> this.ticketService.bulkAssign(
+                        ids, event.getValue().id(), this.currentUser.id(), this.filter.projectIds()));
+                assigneeSelect.clear();
             }
         });
+        statusSelect.addValueChangeListener(event -> {
+            if (event.isFromClient() && event.getValue() != null) {
+                this.applyBulkChange(ids -> this.ticketService.bulkChangeStatus(
+                        ids, event.getValue().id(), this.currentUser.id(), this.filter.projectIds()));
+                statusSelect.clear();
+            }
+        });
+        prioritySelect.addValueChangeListener(event -> {
+            if (event.isFromClient() && event.getValue() != null) {
+                this.applyBulkChange(ids -> this.ticketService.bulkChangePriority(
+                        ids, event.getValue().id(), this.currentUser.id(), this.filter.projectIds()));
+                prioritySelect.clear();
+            }
+        });
+
+        final var selectionLabel = new Span();
+        final var bulkActions = new HorizontalLayout(selectionLabel, assigneeSelect, statusSelect, prioritySelect);
+        bulkActions.setDefaultVerticalComponentAlignment(Alignment.CENTER);
+        bulkActions.setVisible(false);
+        this.grid.addSelectionListener(event -> {
+            final var selected = event.getAllSelectedItems().size();
+            selectionLabel.setText(selected + " selected");
+            bulkActions.setVisible(selected > 0);
+        });
+        return bulkActions;
+    }
 
-        this.add(header, searchField, this.grid);
+    private void applyBulkChange(final ToIntFunction<List<Long>> change) {
+        final var ids = this.grid.getSelectedItems().stream()
+                .map(TicketDto::id)
+                .collect(Collectors.toList());
+        try {
+            final var updated = change.applyAsInt(ids);
+            Notification.show(updated + " tickets updated", 3000, Notification.Position.TOP_CENTER);
+        } catch (final IllegalArgumentException e) {
+            Notification.show("Error: " + e.getMessage(), 3000, Notification.Position.TOP_CENTER);
+        }
+        this.grid.deselectAll();
+        this.grid.getDataProvider().refreshAll();
+    }
+
+    private Stream<TicketDto> search(final int offset, final int limit) {
+        final var results = this.ticketService.search(this.filter, offset, limit);
+        results.forEach(result -> this.snippets.put(result.ticket().id(), result.snippet()));
+        return results.stream().map(TicketSearchResultDto::ticket);
+    }
+
+    private Span createSnippet(final TicketDto ticket) {
+        final var span = new Span();
+        final var snippet = this.snippets.get(ticket.id());
+        if (snippet == null) {
+            return span;
+        }
+
+        // Build text nodes instead of HTML so ticket content is never interpreted as markup
+        var highlighted = false;
+        var start = 0;
+        for (var i = 0; i <= snippet.length(); i++) {
+            final var end = i == snippet.length();
+            final var marker = !end && (snippet.charAt(i) == TicketSearchResultDto.HIGHLIGHT_START
+                    || snippet.charAt(i) == TicketSearchResultDto.HIGHLIGHT_END);
+            if (end || marker) {
+                if (i > start) {
+                    final var part = snippet.substring(start, i);
+                    span.getElement().appendChild(highlighted
+                            ? new Element("mark").setText(part)
+                            : Element.createText(part));
+                }
+                if (marker) {
+                    highlighted = snippet.charAt(i) == TicketSearchResultDto.HIGHLIGHT_START;
+                }
+                start = i + 1;
+            }
+        }
+        return span;
     }
 
     private void openTicketDialog(final TicketDto editingTicket) {
@@ -130,7 +317,7 @@ public class TicketListView extends VerticalLayout implements BeforeEnterObserve
             }
             if (editingTicket != null) {
                 this.ticketService.updateTicket(editingTicket.id(), titleField.getValue(), descriptionField.getValue());
-                this.dataProvider.refreshAll();
+                this.grid.getDataProvider().refreshAll();
             }
             dialog.close();
         });
@@ -15,6 +15,7 @@ import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.VaadinSession;
 
+import de.vptr.lpm.security.SessionRegistry;
 import de.vptr.lpm.service.AuthenticationService;
 import de.vptr.lpm.util.NotificationUtil;
 import de.vptr.lpm.view.MainLayout;
@@ -32,6 +33,9 @@ public class LoginView extends VerticalLayout {
     @Inject
     private transient AuthenticationService authenticationService;
 
+    @Inject
+    private transient SessionRegistry sessionRegistry;
+
     /**
      * Initializes the login view with authentication form.
      */
@@ -63,14 +67,15 @@ public class LoginView extends VerticalLayout {
                 loginButton.setText("Authenticating...");
 
                 // Perform authentication
-                final var userOpt = this.authenticationService.authenticate(username, password);
+                final var clientAddress = VaadinSession.getCurrent().getBrowser().getAddress();
+                final var userOpt = this.authenticationService.authenticate(username, password, clientAddress);
 
                 LOG.trace("Authentication result - Present: {}", userOpt.isPresent());
 
                 if (userOpt.isPresent()) {
                     LOG.trace("Authentication successful, storing user in session");
                     final var user = userOpt.get();
-                    VaadinSession.getCurrent().setAttribute("user", user);
+                    this.sessionRegistry.login(VaadinSession.getCurrent(), user);
                     LOG.trace("Navigating to dashboard");
                     this.getUI().ifPresent(ui -> ui.navigate("dashboard"));
                 } else {
@@ -80,6 +85,9 @@ public class LoginView extends VerticalLayout {
                     passwordField.focus();
                 }
 
+            } catch (final IllegalStateException ex) {
+                LOG.warn("Authentication rejected: {}", ex.getMessage());
+                NotificationUtil.showError(ex.getMessage());
             } catch (final Exception ex) {
                 LOG.error("Exception during authentication", ex);
                 NotificationUtil.showError("Unexpected error: " + ex.getMessage());
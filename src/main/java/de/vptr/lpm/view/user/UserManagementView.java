@@ -9,9 +9,9 @@ import com.vaadin.flow.router.BeforeEnterEvent;
 import com.vaadin.flow.router.BeforeEnterObserver;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import com.vaadin.flow.server.VaadinSession;
 
 import de.vptr.lpm.dto.UserDto;
+import de.vptr.lpm.security.SessionUser;
 import de.vptr.lpm.service.UserService;
 import de.vptr.lpm.view.MainLayout;
 import jakarta.inject.Inject;
@@ -43,9 +43,8 @@ public class UserManagementView extends VerticalLayout implements BeforeEnterObs
             return;
         }
 
-        final var currentUser = (UserDto) VaadinSession.getCurrent().getAttribute("user");
-        if (currentUser == null || currentUser.roles().stream()
-                .noneMatch(r -> "ADMIN".equals(r.name()))) {
+        final var currentUser = SessionUser.current();
+        if (currentUser == null || !currentUser.isAdmin()) {
             event.forwardTo("dashboard");
             return;
         }
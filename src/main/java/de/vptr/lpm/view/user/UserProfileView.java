@@ -12,6 +12,8 @@ import com.vaadin.flow.router.Route;
 import com.vaadin.flow.server.VaadinSession;
 
 import de.vptr.lpm.dto.UserDto;
+import de.vptr.lpm.security.SessionRegistry;
+import de.vptr.lpm.security.SessionUser;
 import de.vptr.lpm.service.UserService;
 import de.vptr.lpm.view.MainLayout;
 import jakarta.inject.Inject;
@@ -23,20 +25,27 @@ import jakarta.inject.Inject;
 @PageTitle("Profile | LPM")
 public class UserProfileView extends VerticalLayout {
 
-    @Inject
-    transient UserService userService;
+    private final transient UserService userService;
+    private final transient SessionRegistry sessionRegistry;
 
     /**
      * Initializes the user profile view for current user.
+     *
+     * @param userService     service loading and saving the profile
+     * @param sessionRegistry registry updating the logged-in user after a change
      */
-    public UserProfileView() {
+    @Inject
+    public UserProfileView(final UserService userService, final SessionRegistry sessionRegistry) {
+        this.userService = userService;
+        this.sessionRegistry = sessionRegistry;
         this.setPadding(true);
         this.setSpacing(true);
 
         final var title = new H2("My Profile");
         final var form = new FormLayout();
 
-        final var currentUser = (UserDto) VaadinSession.getCurrent().getAttribute("user");
+        final var sessionUser = SessionUser.current();
+        final var currentUser = sessionUser == null ? null : userService.findById(sessionUser.id()).orElse(null);
         if (currentUser == null) {
             this.add(new H2("Not logged in"));
             return;
@@ -63,7 +72,8 @@ public class UserProfileView extends VerticalLayout {
 
     private void handleSave(final Long userId, final String email, final String displayName) {
         try {
-            final var currentUser = (UserDto) VaadinSession.getCurrent().getAttribute("user");
+            final var currentUser = this.userService.findById(userId)
+                    .orElseThrow(() -> new IllegalArgumentException("User not found with ID: " + userId));
             final var updated = new UserDto(
                     currentUser.id(),
                     currentUser.username(),
@@ -74,7 +84,7 @@ public class UserProfileView extends VerticalLayout {
                     currentUser.createdAt(),
                     currentUser.updatedAt());
             final var result = this.userService.updateUser(userId, updated);
-            VaadinSession.getCurrent().setAttribute("user", result);
+            this.sessionRegistry.login(VaadinSession.getCurrent(), SessionUser.fromDto(result));
             Notification.show("Profile updated successfully", 3000, Notification.Position.TOP_CENTER);
         } catch (final Exception e) {
             Notification.show("Error: " + e.getMessage(), 3000, Notification.Position.TOP_CENTER);
@@ -0,0 +1,6 @@
+-- End of an automatic lockout after repeated failed logins. LoginThrottle sets
+-- it together with status LOCKED and reactivates the account on the first
+-- login attempt after it has passed. Accounts locked by an administrator have
+-- no end and stay locked until an administrator reactivates them.
+
+alter table "user" add column locked_until timestamp(6);
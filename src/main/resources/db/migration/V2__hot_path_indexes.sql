@@ -0,0 +1,30 @@
+-- Secondary indexes for the repository finders.
+-- Foreign key columns are not indexed by PostgreSQL automatically, so every
+-- lookup by project, assignee, ticket, author or user was a sequential scan.
+
+-- Tickets by project (board, grid filter) and by project and status (board columns)
+create index idx_ticket_project_status on ticket (project_id, status_id, id);
+
+-- Tickets assigned to a user
+create index idx_ticket_assignee on ticket (assignee_id);
+
+-- Tickets by status (grid filter, status deletes)
+create index idx_ticket_status on ticket (status_id);
+
+-- Comment thread of a ticket, newest first
+create index idx_comment_ticket on comment (ticket_id, created_at);
+
+-- Comments by author
+create index idx_comment_author on comment (author_id);
+
+-- Activity history of an entity, newest first
+create index idx_activity_log_entity on activity_log (entityType, entityId, created_at);
+
+-- Activity of a user, newest first
+create index idx_activity_log_user on activity_log (user_id, created_at);
+
+-- Projects a user is a member of (project_id lookups use the unique constraint)
+create index idx_project_member_user on project_member (user_id);
+
+-- Projects owned by a user
+create index idx_project_owner on project (owner_id);
@@ -0,0 +1,64 @@
+-- Turn activity_log into a table range-partitioned by month.
+-- Monthly partitions are named activity_log_pYYYYMM and are created ahead of
+-- time and dropped after the retention window by ActivityLogMaintenanceService.
+-- Rows outside all monthly partitions land in activity_log_default.
+
+alter table activity_log rename to activity_log_old;
+alter table activity_log_old rename constraint activity_log_pkey to activity_log_old_pkey;
+drop index idx_activity_log_entity;
+drop index idx_activity_log_user;
+
+-- The partition key must be part of the primary key
+create table activity_log (
+    created_at timestamp(6) not null,
+    entityId bigint not null,
+    id bigint generated by default as identity,
+    updated_at timestamp(6) not null,
+    user_id bigint,
+    action varchar(50) not null,
+    entityType varchar(100) not null,
+    details varchar(255),
+    primary key (id, created_at)
+) partition by range (created_at);
+
+alter table activity_log
+    add constraint fk_activity_log_user
+    foreign key (user_id)
+    references "user";
+
+create index idx_activity_log_entity on activity_log (entityType, entityId, created_at);
+create index idx_activity_log_user on activity_log (user_id, created_at);
+
+create table activity_log_default partition of activity_log default;
+
+-- Partitions for all months with existing entries up to two months ahead
+do $$
+declare
+    month date := date_trunc('month', coalesce((select min(created_at) from activity_log_old), now()));
+begin
+    while month <= date_trunc('month', now()) + interval '2 months' loop
+        execute format('create table activity_log_p%s partition of activity_log for values from (%L) to (%L)',
+                to_char(month, 'YYYYMM'), month, month + interval '1 month');
+        month := month + interval '1 month';
+    end loop;
+end $$;
+
+insert into activity_log (created_at, entityId, id, updated_at, user_id, action, entityType, details)
+    overriding system value
+    select created_at, entityId, id, updated_at, user_id, action, entityType, details
+    from activity_log_old;
+
+select setval(pg_get_serial_sequence('activity_log', 'id'), coalesce(max(id), 0) + 1, false)
+    from activity_log;
+
+drop table activity_log_old;
+
+-- Daily counts kept for partitions dropped after the retention window
+create table activity_log_daily (
+    day date not null,
+    entityType varchar(100) not null,
+    action varchar(50) not null,
+    user_id bigint,
+    entry_count bigint not null,
+    unique nulls not distinct (day, entityType, action, user_id)
+);
@@ -0,0 +1,9 @@
+-- Activity feeds page by (created_at, id) instead of offset. Adding id to the
+-- feed indexes lets a keyset page read exactly the next rows in index order,
+-- including ties on created_at, without a sort step.
+
+drop index idx_activity_log_entity;
+create index idx_activity_log_entity on activity_log (entityType, entityId, created_at, id);
+
+drop index idx_activity_log_user;
+create index idx_activity_log_user on activity_log (user_id, created_at, id);
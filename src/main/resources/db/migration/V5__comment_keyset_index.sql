@@ -0,0 +1,6 @@
+-- Comment threads page by (created_at, id), newest first. Adding id to the
+-- ticket index lets each "load older" page read the next rows in index order
+-- without a sort, even on tickets with thousands of comments.
+
+drop index idx_comment_ticket;
+create index idx_comment_ticket on comment (ticket_id, created_at, id);
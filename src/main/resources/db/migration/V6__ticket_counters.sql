@@ -0,0 +1,15 @@
+-- Denormalized per-ticket comment counters, so ticket lists and boards can
+-- show comment counts and last activity without aggregating comments per row.
+-- Maintained by CommentService in the same transaction as the comment change
+-- and recomputed by TicketCounterRepairService.
+
+alter table ticket add column comment_count integer not null default 0;
+alter table ticket add column last_comment_at timestamp(6);
+
+update ticket t
+set comment_count = c.comment_count,
+    last_comment_at = c.last_comment_at
+from (select ticket_id, count(*) as comment_count, max(created_at) as last_comment_at
+      from comment
+      group by ticket_id) c
+where c.ticket_id = t.id;
@@ -0,0 +1,14 @@
+-- Activity details become structured JSON (change sets with old and new
+-- values plus project and actor context) instead of free text limited to 255
+-- characters. Existing free text is kept as {"note": "..."}.
+
+alter table activity_log alter column details type jsonb using
+    case
+        when details is null or btrim(details) = '' then null
+        when left(ltrim(details), 1) = '{' and pg_input_is_valid(details, 'jsonb') then details::jsonb
+        else jsonb_build_object('note', details)
+    end;
+
+-- Containment queries (details @> '{"changes":{"assignee":{"new":5}}}') are
+-- answered from this index; jsonb_path_ops is smaller and faster for @>.
+create index idx_activity_log_details on activity_log using gin (details jsonb_path_ops);
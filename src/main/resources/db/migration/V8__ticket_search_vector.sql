@@ -0,0 +1,9 @@
+-- Full-text search over ticket key, title and description. The generated
+-- column is not mapped by the Ticket entity; TicketRepository queries it with
+-- native SQL.
+
+alter table ticket add column search_vector tsvector generated always as (
+    to_tsvector('simple', coalesce(ticketKey, '') || ' ' || coalesce(title, '') || ' ' || coalesce(description, ''))
+) stored;
+
+create index idx_ticket_search on ticket using gin (search_vector);
@@ -0,0 +1,9 @@
+-- Per-project ticket number counter used by TicketKeyAllocator. Rows are
+-- created on first use from the highest existing ticket number of the
+-- project, so existing databases need no backfill here.
+
+create table ticket_key_sequence (
+    last_number bigint not null,
+    project_id bigint not null,
+    primary key (project_id)
+);
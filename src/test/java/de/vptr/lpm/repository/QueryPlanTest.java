@@ -0,0 +1,284 @@
+package de.vptr.lpm.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import de.vptr.lpm.dto.ActivityCursor;
+import de.vptr.lpm.dto.TicketFilter;
+import io.quarkus.narayana.jta.QuarkusTransaction;
+import io.quarkus.panache.common.Sort;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Checks that the repository finders are served by indexes. Fixture projects
+ * are seeded with enough rows for the planner to prefer an index wherever a
+ * usable one exists. Every finder is then run, the SQL it sends is recorded
+ * and explained as a generic plan, which must not contain a sequential scan
+ * over one of the large tables. The fixture rows are deleted afterwards.
+ */
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "ticket", "comment", "activity_log", "project_member");
+
+    private static final Pattern SEQ_SCAN = Pattern.compile("Seq Scan on (\\w+)");
+
+    private static final Pattern PARTITION_SUFFIX = Pattern.compile("_(p[0-9]{6}|default)$");
+
+    private static final String FIXTURE_USERS = "select id from \"user\" where username like 'queryplan%'";
+
+    private static final String FIXTURE_PROJECTS = "select id from project where name like 'Query plan project %'";
+
+    private static final String FIXTURE_TICKETS = "select id from ticket where project_id in (" + FIXTURE_PROJECTS
+            + ")";
+
+    private static final List<String> SEED_SQL = List.of(
+            "insert into \"user\" (username, email, password_hash, display_name, status, created_at, updated_at)"
+                    + " select 'queryplan' || g, 'queryplan' || g || '@example.com', 'x', 'Plan User ' || g,"
+                    + " 'ACTIVE', now(), now() from generate_series(1, 500) g",
+            "insert into ticket_status (name, \"order\", created_at, updated_at)"
+                    + " select 'Query plan status ' || g, g, now(), now() from generate_series(1, 5) g",
+            "insert into project (projectKey, name, owner_id, created_at, updated_at)"
+                    + " select 'QP' || g, 'Query plan project ' || g, u.id, now(), now()"
+                    + " from generate_series(1, 100) g join \"user\" u on u.username = 'queryplan' || g",
+            "insert into ticket (project_id, reporter_id, assignee_id, status_id, ticketKey, title,"
+                    + " created_at, updated_at)"
+                    + " select p.id, u.id, u.id, s.id, 'QP-' || g, 'Plan ticket ' || g, now(), now()"
+                    + " from generate_series(1, 50000) g"
+                    + " join project p on p.projectKey = 'QP' || (g % 100 + 1)"
+                    + " join \"user\" u on u.username = 'queryplan' || (g % 500 + 1)"
+                    + " join ticket_status s on s.name = 'Query plan status ' || (g % 5 + 1)",
+            "insert into comment (ticket_id, author_id, content, created_at, updated_at)"
+                    + " select t.id, t.reporter_id, 'Plan comment', now(), now()"
+                    + " from ticket t cross join generate_series(1, 2) where t.id in (" + FIXTURE_TICKETS + ")",
+            "insert into activity_log (entityType, entityId, action, user_id, created_at, updated_at)"
+                    + " select 'Ticket', t.id, 'UPDATE', t.assignee_id, now(), now()"
+                    + " from ticket t cross join generate_series(1, 2) where t.id in (" + FIXTURE_TICKETS + ")",
+            "insert into project_member (project_id, user_id, role, created_at, updated_at)"
+                    + " select p.id, u.id, 'DEVELOPER', now(), now() from project p, \"user\" u"
+                    + " where p.id in (" + FIXTURE_PROJECTS + ") and u.id in (" + FIXTURE_USERS + ")"
+                    + " and (p.id + u.id) % 10 = 0",
+            "analyze");
+
+    private static final List<String> CLEANUP_SQL = List.of(
+            "delete from activity_log where user_id in (" + FIXTURE_USERS + ")",
+            "delete from comment where ticket_id in (" + FIXTURE_TICKETS + ")",
+            "delete from project_member where project_id in (" + FIXTURE_PROJECTS + ")",
+            "delete from ticket where project_id in (" + FIXTURE_PROJECTS + ")",
+            "delete from project where id in (" + FIXTURE_PROJECTS + ")",
+            "delete from ticket_status where name like 'Query plan status %'",
+            "delete from \"user\" where id in (" + FIXTURE_USERS + ")",
+            "analyze");
+
+    @Inject
+    EntityManager entityManager;
+
+    @Inject
+    TicketRepository ticketRepository;
+
+    @Inject
+    CommentRepository commentRepository;
+
+    @Inject
+    ActivityLogRepository activityLogRepository;
+
+    @Inject
+    ProjectMemberRepository projectMemberRepository;
+
+    private long projectId;
+    private long userId;
+    private long ticketId;
+    private long statusId;
+
+    static Stream<Arguments> finders() {
+        final var cursor = new ActivityCursor(LocalDateTime.now(), Long.MAX_VALUE);
+        return Stream.of(
+                finder("TicketRepository.findByProject", test -> test.ticketRepository.findByProject(test.projectId)),
+                finder("TicketRepository.findByAssignee", test -> test.ticketRepository.findByAssignee(test.userId)),
+                finder("TicketRepository.findByKey", test -> test.ticketRepository.findByKey("QP-1")),
+                finder("TicketRepository.findDtoById", test -> test.ticketRepository.findDtoById(test.ticketId)),
+                finder("TicketRepository.findDtosByProject",
+                        test -> test.ticketRepository.findDtosByProject(test.projectId)),
+                finder("TicketRepository.findDtosByAssignee",
+                        test -> test.ticketRepository.findDtosByAssignee(test.userId)),
+                finder("TicketRepository.findDtosByFilter",
+                        test -> test.ticketRepository.findDtosByFilter(test.projectFilter(), Sort.by("title"), 0, 25)),
+                finder("TicketRepository.findDtosByFilter by assignee",
+                        test -> test.ticketRepository.findDtosByFilter(
+                                new TicketFilter(null, null, null, test.userId), null, 0, 25)),
+                finder("TicketRepository.countByFilter",
+                        test -> test.ticketRepository.countByFilter(test.projectFilter())),
+                finder("TicketRepository.findIdsByFilter",
+                        test -> test.ticketRepository.findIdsByFilter(test.projectFilter())),
+                finder("TicketRepository.streamDtosByFilter", test -> {
+                    try (final var tickets = test.ticketRepository.streamDtosByFilter(test.projectFilter())) {
+                        tickets.findFirst();
+                    }
+                }),
+                finder("TicketRepository.findDtosByProjectAndStatus",
+                        test -> test.ticketRepository.findDtosByProjectAndStatus(test.projectId, test.statusId, 0,
+                                25)),
+                finder("TicketRepository.findBoardColumns",
+                        test -> test.ticketRepository.findBoardColumns(test.projectId, 10)),
+                finder("TicketRepository.search",
+                        test -> test.ticketRepository.search("plan:*", null, Set.of(test.projectId), 0, 25)),
+                finder("TicketRepository.countSearch",
+                        test -> test.ticketRepository.countSearch("plan:*", test.projectId, null)),
+                finder("TicketRepository.streamSearchDtos", test -> {
+                    try (final var tickets = test.ticketRepository.streamSearchDtos("plan:*", test.projectId,
+                            null)) {
+                        tickets.findFirst();
+                    }
+                }),
+                finder("TicketRepository.findDtosByIds",
+                        test -> test.ticketRepository.findDtosByIds(List.of(test.ticketId))),
+                finder("TicketRepository.findStates",
+                        test -> test.ticketRepository.findStates(List.of(test.ticketId), Set.of(test.projectId))),
+                finder("CommentRepository.findByTicket", test -> test.commentRepository.findByTicket(test.ticketId)),
+                finder("CommentRepository.findPageByTicket",
+                        test -> test.commentRepository.findPageByTicket(test.ticketId, LocalDateTime.now(),
+                                Long.MAX_VALUE, 21)),
+                finder("CommentRepository.findByAuthor", test -> test.commentRepository.findByAuthor(test.userId)),
+                finder("CommentRepository.findDtosByTickets",
+                        test -> test.commentRepository.findDtosByTickets(List.of(test.ticketId))),
+                finder("ActivityLogRepository.findByEntity",
+                        test -> test.activityLogRepository.findByEntity("Ticket", test.ticketId)),
+                finder("ActivityLogRepository.findByUser",
+                        test -> test.activityLogRepository.findByUser(test.userId)),
+                finder("ActivityLogRepository.findPageByEntity",
+                        test -> test.activityLogRepository.findPageByEntity("Ticket", test.ticketId, cursor, true,
+                                50)),
+                finder("ActivityLogRepository.findPageByUser",
+                        test -> test.activityLogRepository.findPageByUser(test.userId, cursor, true, 50)),
+                finder("ActivityLogRepository.findDtosByDetails",
+                        test -> test.activityLogRepository.findDtosByDetails("Ticket",
+                                "{\"changes\": {\"assignee\": {\"new\": 1}}}", 50)),
+                finder("ProjectMemberRepository.findByProject",
+                        test -> test.projectMemberRepository.findByProject(test.projectId)),
+                finder("ProjectMemberRepository.findByProjectAndUser",
+                        test -> test.projectMemberRepository.findByProjectAndUser(test.projectId, test.userId)),
+                finder("ProjectMemberRepository.findProjectRolesByUser",
+                        test -> test.projectMemberRepository.findProjectRolesByUser(test.userId)));
+    }
+
+    @BeforeAll
+    void seed() {
+        QuarkusTransaction.requiringNew().run(() -> {
+            SEED_SQL.forEach(sql -> this.entityManager.createNativeQuery(sql).executeUpdate());
+            final var ticket = (Object[]) this.entityManager.createNativeQuery(
+                    "select id, project_id, assignee_id, status_id from ticket where ticketKey = 'QP-1'")
+                    .getSingleResult();
+            this.ticketId = ((Number) ticket[0]).longValue();
+            this.projectId = ((Number) ticket[1]).longValue();
+            this.userId = ((Number) ticket[2]).longValue();
+            this.statusId = ((Number) ticket[3]).longValue();
+        });
+    }
+
+    @AfterAll
+    void removeSeed() {
+        QuarkusTransaction.requiringNew().run(
+                () -> CLEANUP_SQL.forEach(sql -> this.entityManager.createNativeQuery(sql).executeUpdate()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("finders")
+    void testFinderDoesNotScanLargeTables(final String finder, final Consumer<QueryPlanTest> action) {
+        final var statements = new LinkedHashSet<>(QuarkusTransaction.requiringNew().call(
+                () -> RecordingStatementInspector.record(() -> action.accept(this))));
+        assertFalse(statements.isEmpty(), finder + " did not query the database");
+
+        for (final var sql : statements) {
+            final var plan = this.explain(sql);
+            for (final var line : plan) {
+                final var matcher = SEQ_SCAN.matcher(line);
+                if (!matcher.find()) {
+                    continue;
+                }
+                // Partitions are named after their parent table, e.g. activity_log_p202601.
+                // Scanning an empty partition (future months) is cheaper than any index.
+                final var relation = matcher.group(1);
+                final var table = PARTITION_SUFFIX.matcher(relation).replaceFirst("");
+                assertFalse(LARGE_TABLES.contains(table) && this.estimateRows(relation) > 0,
+                        finder + " scans " + relation + " sequentially:\n" + sql + "\n" + String.join("\n", plan));
+            }
+        }
+    }
+
+    private static Arguments finder(final String name, final Consumer<QueryPlanTest> action) {
+        return Arguments.of(name, action);
+    }
+
+    private TicketFilter projectFilter() {
+        return new TicketFilter(null, this.projectId, this.statusId, null, Set.of(this.projectId));
+    }
+
+    /**
+     * Explain a recorded statement without binding its parameters. A generic
+     * plan must not depend on the values, so it has to use an index for any
+     * of them.
+     */
+    private List<String> explain(final String sql) {
+        return QuarkusTransaction.requiringNew().call(() -> this.entityManager.unwrap(Session.class)
+                .doReturningWork(connection -> {
+                    try (final var statement = connection.createStatement();
+                            final ResultSet rows = statement.executeQuery(
+                                    "explain (generic_plan) " + numberParameters(sql))) {
+                        final var plan = new ArrayList<String>();
+                        while (rows.next()) {
+                            plan.add(rows.getString(1));
+                        }
+                        return plan;
+                    }
+                }));
+    }
+
+    /**
+     * Replace JDBC {@code ?} placeholders with the numbered {@code $n}
+     * parameters Postgres expects in a generic plan.
+     */
+    private static String numberParameters(final String sql) {
+        final var numbered = new StringBuilder(sql.length() + 16);
+        var parameter = 0;
+        var quoted = false;
+        for (final var c : sql.toCharArray()) {
+            if (c == '\'') {
+                quoted = !quoted;
+            }
+            if (c == '?' && !quoted) {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private double estimateRows(final String relation) {
+        return QuarkusTransaction.requiringNew().call(() -> ((Number) this.entityManager
+                .createNativeQuery("select reltuples from pg_class where relname = :relation")
+                .setParameter("relation", relation)
+                .getSingleResult()).doubleValue());
+    }
+}
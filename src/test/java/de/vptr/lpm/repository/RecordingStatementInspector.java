@@ -0,0 +1,47 @@
+package de.vptr.lpm.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import io.quarkus.hibernate.orm.PersistenceUnitExtension;
+import jakarta.enterprise.context.ApplicationScoped;
+
+/**
+ * Records the SQL Hibernate sends to the database while a test action runs on
+ * the current thread, so tests can inspect the statements repositories really
+ * execute. Statements outside {@link #record(Runnable)} pass through untouched.
+ */
+@PersistenceUnitExtension
+@ApplicationScoped
+class RecordingStatementInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(final String sql) {
+        final var statements = RECORDED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Run an action and collect the SQL statements it executes.
+     *
+     * @param action the action to run
+     * @return the executed statements in execution order
+     */
+    static List<String> record(final Runnable action) {
+        final var statements = new ArrayList<String>();
+        RECORDED.set(statements);
+        try {
+            action.run();
+        } finally {
+            RECORDED.remove();
+        }
+        return statements;
+    }
+}
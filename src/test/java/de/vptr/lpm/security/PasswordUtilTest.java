@@ -9,6 +9,9 @@ import org.junit.jupiter.api.Test;
  */
 class PasswordUtilTest {
 
+    private static final String LEGACY_ADMIN_HASH =
+            "bHBtZGV2c2FsdDEyMzQ1Njc4OTA=:1+UXcFhT3b+FyQrAtXaH9nrBwGc2MHOo6vat9EEXtPI=";
+
     @Test
     void testHashPassword() {
         final var password = "testPassword123";
@@ -16,7 +19,7 @@ class PasswordUtilTest {
 
         assertNotNull(hash);
         assertNotEquals(password, hash);
-        assertTrue(hash.contains(":"));
+        assertTrue(hash.startsWith("pbkdf2-sha256$" + PasswordUtil.DEFAULT_ITERATIONS + "$"));
     }
 
     @Test
@@ -66,4 +69,23 @@ class PasswordUtilTest {
         assertTrue(PasswordUtil.verifyPassword(password, hash1));
         assertTrue(PasswordUtil.verifyPassword(password, hash2));
     }
+
+    @Test
+    void testVerifyLegacyHash() {
+        // "admin" hashed in the former salt:hash format, as seeded by V1
+        final var legacyHash = PasswordUtilTest.LEGACY_ADMIN_HASH;
+
+        assertTrue(PasswordUtil.verifyPassword("admin", legacyHash));
+        assertFalse(PasswordUtil.verifyPassword("wrongPassword", legacyHash));
+        assertTrue(PasswordUtil.needsRehash(legacyHash, PasswordUtil.DEFAULT_ITERATIONS));
+    }
+
+    @Test
+    void testNeedsRehashWhenIterationsChange() {
+        final var hash = PasswordUtil.hashPassword("testPassword123", 1000);
+
+        assertTrue(PasswordUtil.verifyPassword("testPassword123", hash));
+        assertFalse(PasswordUtil.needsRehash(hash, 1000));
+        assertTrue(PasswordUtil.needsRehash(hash, 2000));
+    }
 }
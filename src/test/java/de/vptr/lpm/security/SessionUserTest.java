@@ -0,0 +1,35 @@
+package de.vptr.lpm.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for SessionUser.
+ */
+class SessionUserTest {
+
+    @Test
+    void testHasRole() {
+        final var user = new SessionUser(1L, "manager", "Project Manager", Set.of("PROJECT_MANAGER", "DEVELOPER"));
+
+        assertTrue(user.hasRole("PROJECT_MANAGER"));
+        assertTrue(user.hasRole("DEVELOPER", SessionUser.ADMIN_ROLE));
+        assertFalse(user.hasRole(SessionUser.ADMIN_ROLE));
+        assertFalse(user.isAdmin());
+    }
+
+    @Test
+    void testCustomRolesAreKeptByName() {
+        final var roles = new HashSet<>(Set.of("SESSION_TEST_REVIEWER"));
+        final var user = new SessionUser(2L, "reviewer", "Reviewer", roles);
+        roles.add(SessionUser.ADMIN_ROLE);
+
+        assertTrue(user.hasRole("SESSION_TEST_REVIEWER"));
+        assertFalse(user.hasRole("SESSION_TEST_AUDITOR"));
+        assertFalse(user.isAdmin(), "Later changes to the passed set must not reach the session user");
+    }
+}
@@ -0,0 +1,44 @@
+package de.vptr.lpm.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for TokenBucket.
+ */
+class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testBurstIsLimitedToCapacity() {
+        final var bucket = new TokenBucket(3, SECOND, 0);
+
+        assertTrue(bucket.tryConsume(0));
+        assertTrue(bucket.tryConsume(0));
+        assertTrue(bucket.tryConsume(0));
+        assertFalse(bucket.tryConsume(0));
+    }
+
+    @Test
+    void testTokensAreRefilledOverTime() {
+        final var bucket = new TokenBucket(1, SECOND, 0);
+
+        assertTrue(bucket.tryConsume(0));
+        assertFalse(bucket.tryConsume(SECOND / 2));
+        assertTrue(bucket.tryConsume(SECOND));
+        assertFalse(bucket.tryConsume(SECOND));
+    }
+
+    @Test
+    void testRefillDoesNotExceedCapacity() {
+        final var bucket = new TokenBucket(2, SECOND, 0);
+
+        assertTrue(bucket.tryConsume(100 * SECOND));
+        assertTrue(bucket.tryConsume(100 * SECOND));
+        assertFalse(bucket.tryConsume(100 * SECOND));
+    }
+}
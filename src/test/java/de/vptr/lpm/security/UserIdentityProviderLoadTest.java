@@ -0,0 +1,152 @@
+package de.vptr.lpm.security;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.vptr.lpm.service.UserService;
+import io.quarkus.security.credential.PasswordCredential;
+import io.quarkus.security.identity.IdentityProviderManager;
+import io.quarkus.security.identity.request.UsernamePasswordAuthenticationRequest;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import io.vertx.core.Vertx;
+import jakarta.inject.Inject;
+
+/**
+ * Load test for UserIdentityProvider. Starts 500 logins of distinct users from
+ * a single event loop and checks that the loop keeps running its timers while
+ * the logins are verified on worker threads. Every login misses the credential
+ * cache and is hashed, and the hashing pool is sized so none is rejected.
+ */
+@QuarkusTest
+@TestProfile(UserIdentityProviderLoadTest.HashingCapacityProfile.class)
+class UserIdentityProviderLoadTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserIdentityProviderLoadTest.class);
+
+    private static final int USERS = 500;
+    private static final String PASSWORD = "loadTestPassword";
+    private static final long PROBE_INTERVAL_MILLIS = 10;
+    private static final long MAX_EVENT_LOOP_LAG_MILLIS = 250;
+
+    @Inject
+    IdentityProviderManager identityProviderManager;
+
+    @Inject
+    UserService userService;
+
+    @Inject
+    CredentialCache credentialCache;
+
+    @Inject
+    Vertx vertx;
+
+    @Test
+    void testConcurrentLoginsKeepEventLoopResponsive() throws InterruptedException {
+        for (int i = 0; i < USERS; i++) {
+            this.userService.createUser("loadtest" + i, "loadtest" + i + "@example.com", PASSWORD, "Load Test " + i);
+        }
+
+        final var eventLoop = this.vertx.getOrCreateContext();
+        final var maxLagMillis = new AtomicLong();
+        final var lastTick = new AtomicLong(System.nanoTime());
+        final var timerId = new AtomicLong();
+        // The probe runs on the same event loop that starts the logins
+        eventLoop.runOnContext(ignored -> timerId.set(this.vertx.setPeriodic(PROBE_INTERVAL_MILLIS, id -> {
+            final var now = System.nanoTime();
+            final var lag = TimeUnit.NANOSECONDS.toMillis(now - lastTick.getAndSet(now)) - PROBE_INTERVAL_MILLIS;
+            maxLagMillis.accumulateAndGet(lag, Math::max);
+        })));
+
+        final var cacheHits = this.credentialCache.getStatistics().hitCount();
+        final var done = new CountDownLatch(USERS);
+        final Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        final Queue<Throwable> unexpected = new ConcurrentLinkedQueue<>();
+        final var rejected = new AtomicInteger();
+
+        for (int i = 0; i < USERS; i++) {
+            final var request = new UsernamePasswordAuthenticationRequest("loadtest" + i,
+                    new PasswordCredential(PASSWORD.toCharArray()));
+            eventLoop.runOnContext(ignored -> {
+                final var start = System.nanoTime();
+                this.identityProviderManager.authenticate(request).subscribe().with(
+                        identity -> {
+                            latencies.add(System.nanoTime() - start);
+                            done.countDown();
+                        },
+                        failure -> {
+                            if (isRejection(failure)) {
+                                rejected.incrementAndGet();
+                            } else {
+                                unexpected.add(failure);
+                            }
+                            done.countDown();
+                        });
+            });
+        }
+
+        assertTrue(done.await(2, TimeUnit.MINUTES), "Logins did not complete in time");
+        eventLoop.runOnContext(ignored -> this.vertx.cancelTimer(timerId.get()));
+
+        final var sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        LOG.info("{} logins: {} succeeded, {} rejected; latency p50={} ms, p99={} ms; max event loop lag={} ms",
+                USERS, sorted.size(), rejected.get(), percentileMillis(sorted, 0.5), percentileMillis(sorted, 0.99),
+                maxLagMillis.get());
+
+        assertTrue(unexpected.isEmpty(), () -> "Unexpected failures: " + unexpected);
+        assertEquals(0, rejected.get(), "Logins were rejected although the hashing queue fits the load");
+        assertEquals(USERS, sorted.size(), "Not every login succeeded");
+        assertEquals(cacheHits, this.credentialCache.getStatistics().hitCount(),
+                "Logins were served from the credential cache instead of being hashed");
+        assertTrue(maxLagMillis.get() < MAX_EVENT_LOOP_LAG_MILLIS,
+                () -> "Event loop was blocked for " + maxLagMillis.get() + " ms");
+    }
+
+    private static boolean isRejection(final Throwable failure) {
+        for (var cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof HashingCapacityException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long percentileMillis(final List<Long> sortedNanos, final double percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        final var index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos.get(Math.max(0, index)));
+    }
+
+    /**
+     * Sizes the hashing pool for the load: the queue holds every login, and
+     * the timeout covers the wait for the last one.
+     */
+    public static class HashingCapacityProfile implements QuarkusTestProfile {
+
+        @Override
+        public Map<String, String> getConfigOverrides() {
+            return Map.of(
+                    "lpm.password.hashing-threads", "4",
+                    "lpm.password.hashing-queue-capacity", Integer.toString(USERS),
+                    "lpm.password.hashing-timeout", "PT1M");
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package de.vptr.lpm.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+
+import de.vptr.lpm.dto.CommentDto;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+
+/**
+ * Integration tests for MarkdownRenderService.
+ */
+@QuarkusTest
+class MarkdownRenderServiceTest {
+
+    @Inject
+    MarkdownRenderService markdownRenderService;
+
+    @Test
+    void testRenderEscapesHtmlAndUnsafeLinks() {
+        final var html = this.markdownRenderService.render(
+                "**bold** <script>alert(1)</script> [link](javascript:alert(1))");
+
+        assertTrue(html.contains("<strong>bold</strong>"));
+        assertFalse(html.contains("<script>"));
+        assertFalse(html.contains("javascript:"));
+    }
+
+    @Test
+    void testRepeatedRenderIsServedFromCache() {
+        final var updatedAt = LocalDateTime.now();
+        final var comment = new CommentDto(-1L, null, null, null, "*cached*", updatedAt, updatedAt);
+        final var hitsBefore = this.markdownRenderService.getStatistics().hitCount();
+
+        final var first = this.markdownRenderService.renderComment(comment);
+        final var second = this.markdownRenderService.renderComment(comment);
+
+        assertEquals(first, second);
+        assertEquals(hitsBefore + 1, this.markdownRenderService.getStatistics().hitCount());
+    }
+}
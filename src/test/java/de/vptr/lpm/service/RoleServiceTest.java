@@ -2,6 +2,7 @@ package de.vptr.lpm.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
 
 import io.quarkus.test.junit.QuarkusTest;
@@ -16,6 +17,9 @@ class RoleServiceTest {
     @Inject
     RoleService roleService;
 
+    @Inject
+    SessionFactory sessionFactory;
+
     @Test
     void testCreateRole() {
         final var result = this.roleService.createRole(
@@ -64,4 +68,26 @@ class RoleServiceTest {
         final var countAfter = this.roleService.countRoles();
         assertEquals(countBefore + 1, countAfter);
     }
+
+    @Test
+    void testListAllIsServedFromQueryCache() {
+        this.roleService.listAll();
+        final var statistics = this.sessionFactory.getStatistics();
+        statistics.clear();
+
+        final var roles = this.roleService.listAll();
+
+        assertFalse(roles.isEmpty());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testCreateRoleEvictsCachedList() {
+        final var before = this.roleService.listAll().size();
+
+        this.roleService.createRole("CACHED_ROLE", "Cached Role", "#00FF00", "cached", 20);
+
+        assertEquals(before + 1, this.roleService.listAll().size());
+    }
 }
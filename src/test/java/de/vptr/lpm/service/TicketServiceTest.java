@@ -0,0 +1,224 @@
+package de.vptr.lpm.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Set;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.vptr.lpm.dto.TicketFilter;
+import de.vptr.lpm.dto.TicketSearchResultDto;
+import de.vptr.lpm.dto.UserDto;
+import de.vptr.lpm.entity.User;
+import de.vptr.lpm.security.ProjectAuthorizationService;
+import de.vptr.lpm.security.SessionUser;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.inject.Inject;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Integration tests for TicketService.
+ */
+@QuarkusTest
+class TicketServiceTest {
+
+    private static final int TICKET_COUNT = 5;
+
+    @Inject
+    TicketService ticketService;
+
+    @Inject
+    ProjectService projectService;
+
+    @Inject
+    UserService userService;
+
+    @Inject
+    ActivityLogService activityLogService;
+
+    @Inject
+    CommentService commentService;
+
+    @Inject
+    TicketCounterRepairService ticketCounterRepairService;
+
+    @Inject
+    ProjectMemberService projectMemberService;
+
+    @Inject
+    ProjectAuthorizationService authorizationService;
+
+    @Inject
+    EntityManager entityManager;
+
+    private Long projectId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        final var suffix = Long.toString(System.nanoTime() % 100_000_000L, 36).toUpperCase();
+        final var user = this.userService.createUser(
+                "ticket" + suffix, "ticket" + suffix + "@example.com", "password123", "Ticket User " + suffix);
+        this.userId = user.id();
+        this.projectId = this.projectService.createProject("Tickets " + suffix, "T" + suffix, null, this.userId)
+                .id();
+
+        for (int i = 0; i < TICKET_COUNT; i++) {
+            final var ticket = this.ticketService.createTicket(this.projectId, "Ticket " + i, null, this.userId);
+            this.ticketService.assignTicket(ticket.id(), this.userId);
+        }
+    }
+
+    @Test
+    void testFindByProjectUsesSingleQuery() {
+        final var statistics = this.entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        final var tickets = this.ticketService.findByProject(this.projectId);
+
+        assertEquals(TICKET_COUNT, tickets.size());
+        assertTrue(tickets.stream().allMatch(t -> t.assigneeName() != null && t.reporterName() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testCommentAndActivityPagesDoNotLoadUsers() {
+        final var ticketId = this.ticketService.findByProject(this.projectId).get(0).id();
+        this.commentService.createComment(ticketId, this.userId, "First");
+        this.activityLogService.logActivitySync("Ticket", ticketId, "COMMENT", this.userId, null);
+        final var statistics = this.entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        final var page = this.commentService.findPageByTicket(ticketId, null, 10);
+        final var activity = this.activityLogService.findByUserBefore(this.userId, null, 10);
+
+        assertEquals(1, page.comments().size());
+        assertNotNull(page.comments().get(0).authorName());
+        assertFalse(activity.isEmpty());
+        assertEquals(0, statistics.getEntityStatistics(User.class.getName()).getLoadCount());
+    }
+
+    @Test
+    void testFindByAssigneeUsesSingleQuery() {
+        final var statistics = this.entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        final var tickets = this.ticketService.findByAssignee(this.userId);
+
+        assertEquals(TICKET_COUNT, tickets.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testQueryReturnsRequestedWindow() {
+        final var filter = new TicketFilter(null, this.projectId, null, null);
+
+        assertEquals(TICKET_COUNT, this.ticketService.count(filter));
+        assertEquals(2, this.ticketService.query(filter, null, 0, 2).size());
+        assertEquals(1, this.ticketService.query(filter.withSearchText("ticket 3"), null, 0, 10).size());
+    }
+
+    @Test
+    void testAccessibleProjectsRestrictQueries() {
+        final var owner = new SessionUser(this.userId, "owner", "Owner", Set.of("DEVELOPER"));
+        final var ownerAccess = this.authorizationService.accessFor(owner);
+        assertTrue(ownerAccess.canManage(this.projectId));
+
+        final var filter = TicketFilter.empty().withProjectIds(ownerAccess.projectIds());
+        assertEquals(TICKET_COUNT, this.ticketService.count(filter));
+        assertEquals(0, this.ticketService.count(filter.withProjectIds(Set.of())));
+        assertEquals(0, this.ticketService.countSearch(filter.withProjectIds(Set.of()).withSearchText("ticket")));
+
+        final var other = this.userService.createUser("member" + this.userId, "member" + this.userId + "@example.com",
+                "password123", "Member " + this.userId);
+        final var member = new SessionUser(other.id(), other.username(), other.displayName(), Set.of("DEVELOPER"));
+        assertFalse(this.authorizationService.accessFor(member).canView(this.projectId));
+
+        this.projectMemberService.addMember(this.projectId, other.id(), "DEVELOPER");
+        final var memberAccess = this.authorizationService.accessFor(member);
+        assertTrue(memberAccess.canView(this.projectId));
+        assertFalse(memberAccess.canManage(this.projectId));
+    }
+
+    @Test
+    void testRenamedUserShowsOnProjectsAndComments() {
+        final var ticketId = this.ticketService.findByProject(this.projectId).get(0).id();
+        this.commentService.createComment(ticketId, this.userId, "First");
+        final var user = this.userService.findById(this.userId).orElseThrow();
+        assertEquals(user.displayName(), this.projectService.findById(this.projectId).orElseThrow().ownerName());
+
+        final var renamed = "Renamed " + this.userId;
+        this.userService.updateUser(this.userId, new UserDto(user.id(), user.username(), user.email(), renamed,
+                user.status(), user.roles(), user.createdAt(), user.updatedAt()));
+
+        assertEquals(renamed, this.projectService.findById(this.projectId).orElseThrow().ownerName());
+        assertEquals(renamed, this.commentService.findByTicket(ticketId).get(0).authorName());
+    }
+
+    @Test
+    void testSearchMatchesPrefixesAndHighlights() {
+        this.ticketService.createTicket(this.projectId, "Printer jam", "Paper stuck in the tray", this.userId);
+
+        final var results = this.ticketService.search("pap tray", this.projectId, 0, 10);
+
+        assertEquals(1, results.size());
+        assertEquals("Printer jam", results.get(0).ticket().title());
+        assertTrue(results.get(0).snippet().indexOf(TicketSearchResultDto.HIGHLIGHT_START) >= 0);
+        assertEquals(1, this.ticketService.countSearch("pap tray", this.projectId));
+        assertTrue(this.ticketService.search("  !& ", this.projectId, 0, 10).isEmpty());
+    }
+
+    @Test
+    void testBulkAssignUpdatesAllTicketsAndLogsEach() {
+        final var ids = this.ticketService.findIds(new TicketFilter(null, this.projectId, null, null));
+        final var logged = this.activityLogService.countByEntity("Ticket", ids.get(0));
+
+        assertEquals(0, this.ticketService.bulkAssign(ids, null, this.userId, Set.of()));
+        assertEquals(TICKET_COUNT, this.ticketService.findByAssignee(this.userId).size());
+
+        assertEquals(TICKET_COUNT, this.ticketService.bulkAssign(ids, null, this.userId, Set.of(this.projectId)));
+        assertTrue(this.ticketService.findByAssignee(this.userId).isEmpty());
+        assertEquals(logged + 1, this.activityLogService.countByEntity("Ticket", ids.get(0)));
+        final var changes = this.activityLogService.findChangesTo("Ticket", "assignee", null,
+                this.projectId, TICKET_COUNT + 1);
+        assertEquals(TICKET_COUNT, changes.size());
+        assertTrue(changes.get(0).details().replace(" ", "").contains("\"old\":" + this.userId));
+    }
+
+    @Test
+    void testEntityChangesAreLoggedWithChangeSet() {
+        final var ticket = this.ticketService.createTicket(this.projectId, "Before", null, this.userId);
+        this.ticketService.updateTicket(ticket.id(), "After", null);
+
+        final var logs = this.activityLogService.findByEntity("Ticket", ticket.id());
+        assertTrue(logs.stream().anyMatch(log -> "CREATE".equals(log.action())));
+
+        final var changes = this.activityLogService.findChangesTo("Ticket", "title", "After", this.projectId, 10);
+        assertEquals(1, changes.size());
+        assertEquals(ticket.id(), changes.get(0).entityId());
+    }
+
+    @Test
+    void testCommentCountersFollowCommentChanges() {
+        final var ticketId = this.ticketService.findIds(new TicketFilter(null, this.projectId, null, null)).get(0);
+        final var first = this.commentService.createComment(ticketId, this.userId, "First");
+        final var second = this.commentService.createComment(ticketId, this.userId, "Second");
+        this.commentService.deleteComment(second.id());
+
+        final var ticket = this.ticketService.findById(ticketId).orElseThrow();
+        assertEquals(1, ticket.commentCount());
+        assertEquals(1, this.commentService.countByTicket(ticketId));
+        assertFalse(ticket.lastActivityAt().isBefore(first.createdAt()));
+
+        this.ticketCounterRepairService.repairCounters();
+        assertEquals(1, this.commentService.countByTicket(ticketId));
+    }
+}
@@ -2,9 +2,15 @@ package de.vptr.lpm.service;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.LocalDateTime;
+import java.util.Set;
+
 import org.junit.jupiter.api.Test;
 
 import de.vptr.lpm.enums.UserStatus;
+import de.vptr.lpm.repository.UserRepository;
+import de.vptr.lpm.security.CredentialCache;
+import io.quarkus.narayana.jta.QuarkusTransaction;
 import io.quarkus.test.junit.QuarkusTest;
 import jakarta.inject.Inject;
 
@@ -17,6 +23,15 @@ class UserServiceTest {
     @Inject
     UserService userService;
 
+    @Inject
+    AuthenticationService authenticationService;
+
+    @Inject
+    CredentialCache credentialCache;
+
+    @Inject
+    UserRepository userRepository;
+
     @Test
     void testCreateUser() {
         final var result = this.userService.createUser(
@@ -52,7 +67,7 @@ class UserServiceTest {
     @Test
     void testAuthenticateValidCredentials() {
         this.userService.createUser("authtest", "authtest@example.com", "password123", "Auth Test User");
-        final var result = this.userService.authenticate("authtest", "password123");
+        final var result = this.authenticationService.authenticate("authtest", "password123", null);
         assertTrue(result.isPresent());
         assertEquals("authtest", result.get().username());
     }
@@ -60,7 +75,7 @@ class UserServiceTest {
     @Test
     void testAuthenticateInvalidPassword() {
         this.userService.createUser("wrongpass", "wrongpass@example.com", "password123", "Wrong Pass User");
-        final var result = this.userService.authenticate("wrongpass", "wrongpassword");
+        final var result = this.authenticationService.authenticate("wrongpass", "wrongpassword", null);
         assertTrue(result.isEmpty());
     }
 
@@ -71,4 +86,51 @@ class UserServiceTest {
         final var countAfter = this.userService.countUsers();
         assertEquals(countBefore + 1, countAfter);
     }
+
+    @Test
+    void testChangePasswordEvictsVerifiedCredentials() {
+        final var user = this.userService.createUser("cachetest", "cachetest@example.com", "password123",
+                "Cache Test User");
+        final var credential = new CredentialCache.VerifiedCredential(user.id(), user.username(), Set.of());
+
+        final var generation = this.credentialCache.generation();
+        this.credentialCache.put("cachetest", "password123", generation, credential);
+        assertTrue(this.credentialCache.get("cachetest", "password123").isPresent());
+        assertTrue(this.credentialCache.get("cachetest", "wrongpassword").isEmpty());
+
+        this.userService.changePassword(user.id(), "newPassword456");
+        assertTrue(this.credentialCache.get("cachetest", "password123").isEmpty());
+
+        // A verification that started before the change must not be cached
+        this.credentialCache.put("cachetest", "password123", generation, credential);
+        assertTrue(this.credentialCache.get("cachetest", "password123").isEmpty());
+    }
+
+    @Test
+    void testExpiredLockoutEndsAtLogin() {
+        final var user = this.userService.createUser("lockouttest", "lockouttest@example.com", "password123",
+                "Lockout Test User");
+        this.lock(user.id(), LocalDateTime.now().minusMinutes(1));
+
+        assertTrue(this.authenticationService.authenticate("lockouttest", "password123", null).isPresent());
+        assertEquals(UserStatus.ACTIVE, this.userService.findById(user.id()).orElseThrow().status());
+    }
+
+    @Test
+    void testLockWithoutEndIsKept() {
+        final var user = this.userService.createUser("lockedtest", "lockedtest@example.com", "password123",
+                "Locked Test User");
+        this.lock(user.id(), null);
+
+        assertTrue(this.authenticationService.authenticate("lockedtest", "password123", null).isEmpty());
+        assertEquals(UserStatus.LOCKED, this.userService.findById(user.id()).orElseThrow().status());
+    }
+
+    private void lock(final Long userId, final LocalDateTime lockedUntil) {
+        QuarkusTransaction.requiringNew().run(() -> {
+            final var user = this.userRepository.findById(userId);
+            user.status = UserStatus.LOCKED;
+            user.lockedUntil = lockedUntil;
+        });
+    }
 }